@@ -25,6 +25,10 @@ package org.eolang.opeo;
 
 import com.jcabi.log.Logger;
 import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.TreeSet;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -32,11 +36,17 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.eolang.opeo.compilation.Compiler;
 import org.eolang.opeo.compilation.DummyCompiler;
 import org.eolang.opeo.compilation.SelectiveCompiler;
+import org.eolang.opeo.decompilation.agents.AllAgents;
+import org.eolang.opeo.storage.BytecodeStorage;
+import org.eolang.opeo.storage.CompilationStorage;
+import org.eolang.opeo.storage.IncrementalStorage;
+import org.eolang.opeo.storage.Manifest;
 
 /**
  * Compiles high-level EO representation into low-level representation.
  * The output of this mojo is consumed by the "jeo-maven-plugin":
- * <a href="https://github.com/objectionary/jeo-maven-plugin">link</a>
+ * <a href="https://github.com/objectionary/jeo-maven-plugin">link</a>,
+ * unless it is asked to save bytecode right away.
  *
  * @since 0.1
  */
@@ -69,6 +79,84 @@ public final class CompileMojo extends AbstractMojo {
     )
     private File outputDir;
 
+    /**
+     * Whether to save compiled programs as bytecode.
+     * If it's set, the compiled programs are assembled in memory and saved
+     * as '.class' files to {@link #classesDir}, so "jeo-maven-plugin" doesn't need
+     * to assemble them afterwards. {@link #outputDir} is not used then.
+     *
+     * @since 0.5.0
+     */
+    @Parameter(
+        property = "opeo.compile.bytecode",
+        defaultValue = "false"
+    )
+    private boolean bytecode;
+
+    /**
+     * Directory for '.class' files.
+     * Used only if {@link #bytecode} is set.
+     *
+     * @since 0.5.0
+     * @checkstyle MemberNameCheck (6 lines)
+     */
+    @Parameter(
+        property = "opeo.compile.classesDir",
+        defaultValue = "${project.build.outputDirectory}"
+    )
+    private File classesDir;
+
+    /**
+     * Whether to compile only the files changed since the previous build.
+     * Digests of all the input files are kept in {@link #manifest}.
+     * Outputs of the files removed from {@link #sourcesDir} are removed as well.
+     *
+     * @since 0.5.0
+     */
+    @Parameter(
+        property = "opeo.compile.incremental",
+        defaultValue = "false"
+    )
+    private boolean incremental;
+
+    /**
+     * Manifest file used by the incremental compilation.
+     *
+     * @since 0.5.0
+     */
+    @Parameter(
+        property = "opeo.compile.manifest",
+        defaultValue = "${project.build.directory}/opeo/compile.manifest"
+    )
+    private File manifest;
+
+    /**
+     * Plugin version.
+     * Outputs of different plugin versions might differ, so it is part of the manifest.
+     *
+     * @since 0.5.0
+     */
+    @Parameter(defaultValue = "${plugin.version}", readonly = true)
+    private String version;
+
+    /**
+     * Number of threads.
+     * Zero means "auto": all available processors divided by the degree
+     * of concurrency of the build ('-T' option).
+     *
+     * @since 0.5.0
+     */
+    @Parameter(property = "opeo.threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * Maven session.
+     *
+     * @since 0.5.0
+     */
+    @Parameter(defaultValue = "${session}", readonly = true)
+    private MavenSession session;
+
     /**
      * Whether the plugin is disabled.
      * If it's disabled, then it won't do anything.
@@ -84,13 +172,46 @@ public final class CompileMojo extends AbstractMojo {
 
     @Override
     public void execute() {
+        final Path input = this.sourcesDir.toPath();
+        final Path output = this.outputDir.toPath();
+        final Manifest previous = new Manifest(
+            this.manifest.toPath(),
+            String.join(
+                " ",
+                String.valueOf(this.version),
+                new TreeSet<>(Arrays.asList(new AllAgents().supportedOpcodes())).toString()
+            )
+        );
         final Compiler compiler;
         if (this.disabled) {
             Logger.info(this, "Compiler is disabled");
-            compiler = new DummyCompiler(this.sourcesDir.toPath(), this.outputDir.toPath());
+            compiler = new DummyCompiler(input, output);
+        } else if (this.bytecode) {
+            if (this.incremental) {
+                Logger.warn(
+                    this,
+                    "Incremental compilation doesn't support bytecode output, compiling all files"
+                );
+            }
+            compiler = new SelectiveCompiler(
+                new BytecodeStorage(input, this.classesDir.toPath()),
+                new Threads(this.threads, this.session)
+            );
+        } else if (this.incremental) {
+            Logger.info(this, "Incremental compilation, manifest is %[file]s", this.manifest);
+            final IncrementalStorage storage = new IncrementalStorage(
+                new CompilationStorage(input, output), previous, input, output
+            );
+            Logger.info(this, "Removed %d obsolete files", storage.prune());
+            compiler = new SelectiveCompiler(storage, new Threads(this.threads, this.session));
         } else {
-            compiler = new SelectiveCompiler(this.sourcesDir.toPath(), this.outputDir.toPath());
+            compiler = new SelectiveCompiler(
+                new CompilationStorage(input, output), new Threads(this.threads, this.session)
+            );
         }
         compiler.compile();
+        if (this.incremental && !this.disabled && !this.bytecode) {
+            previous.save();
+        }
     }
 }
@@ -25,14 +25,26 @@ package org.eolang.opeo;
 
 import com.jcabi.log.Logger;
 import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.TreeSet;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.eolang.opeo.asm.ClassesDecompiler;
 import org.eolang.opeo.decompilation.Decompiler;
 import org.eolang.opeo.decompilation.DummyDecompiler;
 import org.eolang.opeo.decompilation.NaiveDecompiler;
+import org.eolang.opeo.decompilation.agents.AllAgents;
+import org.eolang.opeo.storage.DecompilationStorage;
+import org.eolang.opeo.storage.FileStorage;
+import org.eolang.opeo.storage.IncrementalStorage;
+import org.eolang.opeo.storage.Manifest;
+import org.eolang.opeo.storage.Storage;
+import org.eolang.opeo.storage.WithoutAliasesStorage;
 
 /**
  * Decompiles bytecode in EO representation into high-level EO representation.
@@ -84,6 +96,100 @@ public final class DecompileMojo extends AbstractMojo {
     @Parameter(property = "opeo.decompile.modifiedDir")
     private File modifiedDir;
 
+    /**
+     * Directory with compiled classes and jars.
+     * If it is set, the decompiler reads bytecode right from it and skips
+     * the XMIR files generated by jeo, so {@link #sourcesDir} isn't used.
+     *
+     * @since 0.5.0
+     * @checkstyle MemberNameCheck (6 lines)
+     */
+    @Parameter(property = "opeo.decompile.classesDir")
+    private File classesDir;
+
+    /**
+     * Whether to save decompiled XMIRs in the compact binary format.
+     * It is much faster to read by the "compile" goal, but other tools
+     * can't read it, so use it only when nothing but opeo reads {@link #outputDir}.
+     * The files in {@link #modifiedDir} are always saved as XML.
+     *
+     * @since 0.5.0
+     */
+    @Parameter(
+        property = "opeo.decompile.binary",
+        defaultValue = "false"
+    )
+    private boolean binary;
+
+    /**
+     * Whether to decompile only the files changed since the previous build.
+     * Digests of all the input files are kept in {@link #manifest}.
+     *
+     * @since 0.5.0
+     */
+    @Parameter(
+        property = "opeo.decompile.incremental",
+        defaultValue = "false"
+    )
+    private boolean incremental;
+
+    /**
+     * Manifest file used by the incremental decompilation.
+     *
+     * @since 0.5.0
+     */
+    @Parameter(
+        property = "opeo.decompile.manifest",
+        defaultValue = "${project.build.directory}/opeo/decompile.manifest"
+    )
+    private File manifest;
+
+    /**
+     * Plugin version.
+     * Outputs of different plugin versions might differ, so it is part of the manifest.
+     *
+     * @since 0.5.0
+     */
+    @Parameter(defaultValue = "${plugin.version}", readonly = true)
+    private String version;
+
+    /**
+     * Number of threads.
+     * Zero means "auto": all available processors divided by the degree
+     * of concurrency of the build ('-T' option).
+     *
+     * @since 0.5.0
+     */
+    @Parameter(property = "opeo.threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * Maximum number of files in flight between reading and saving.
+     * It limits the number of parsed XMIRs kept in memory at once.
+     * Zero means "auto": twice the number of threads.
+     *
+     * @since 0.5.0
+     */
+    @Parameter(property = "opeo.decompile.inflight", defaultValue = "0")
+    private int inflight;
+
+    /**
+     * Number of threads that save files, taken from the threads budget.
+     * Zero means "auto": a quarter of the threads.
+     *
+     * @since 0.5.0
+     */
+    @Parameter(property = "opeo.decompile.writers", defaultValue = "0")
+    private int writers;
+
+    /**
+     * Maven session.
+     *
+     * @since 0.5.0
+     */
+    @Parameter(defaultValue = "${session}", readonly = true)
+    private MavenSession session;
+
     /**
      * Whether the plugin is disabled.
      * If it's disabled, then it won't do anything.
@@ -100,18 +206,86 @@ public final class DecompileMojo extends AbstractMojo {
     @Override
     public void execute() {
         final Decompiler decompiler;
+        final Manifest previous = new Manifest(
+            this.manifest.toPath(),
+            String.join(
+                " ",
+                String.valueOf(this.version),
+                String.valueOf(Objects.nonNull(this.modifiedDir)),
+                String.valueOf(this.binary),
+                new TreeSet<>(Arrays.asList(new AllAgents().supportedOpcodes())).toString()
+            )
+        );
+        final Path input = this.sourcesDir.toPath();
+        final Path output = this.outputDir.toPath();
         if (this.disabled) {
             Logger.info(this, "Decompiler is disabled");
-            decompiler = new DummyDecompiler(this.sourcesDir.toPath(), this.outputDir.toPath());
+            decompiler = new DummyDecompiler(input, output);
+        } else if (Objects.nonNull(this.classesDir)) {
+            Logger.info(this, "Use bytecode decompiler");
+            final Path classes = this.classesDir.toPath();
+            decompiler = new ClassesDecompiler(
+                classes,
+                new WithoutAliasesStorage(new DecompilationStorage(classes, output, this.binary)),
+                new Threads(this.threads, this.session)
+            );
         } else if (Objects.nonNull(this.modifiedDir)) {
             Logger.info(this, "Use selective decompiler");
+            final Path modified = this.modifiedDir.toPath();
             decompiler = new SelectiveDecompiler(
-                this.sourcesDir.toPath(), this.outputDir.toPath(), this.modifiedDir.toPath()
+                new WithoutAliasesStorage(
+                    this.storage(new FileStorage(input, output, this.binary), previous)
+                ),
+                new WithoutAliasesStorage(new FileStorage(modified, modified)),
+                this.pipeline(),
+                new AllAgents().supportedOpcodes()
             );
         } else {
             Logger.info(this, "Use naive decompiler");
-            decompiler = new NaiveDecompiler(this.sourcesDir.toPath(), this.outputDir.toPath());
+            decompiler = new NaiveDecompiler(
+                this.storage(new DecompilationStorage(input, output, this.binary), previous),
+                this.pipeline()
+            );
         }
         decompiler.decompile();
+        if (this.incremental && !this.disabled && Objects.isNull(this.classesDir)) {
+            previous.save();
+        }
+    }
+
+    /**
+     * Storage of the input XMIRs.
+     * @param origin Storage of all the XMIRs.
+     * @param previous Manifest of the previous build.
+     * @return Incremental storage if it's enabled, the original one otherwise.
+     */
+    private Storage storage(final Storage origin, final Manifest previous) {
+        final Storage result;
+        if (this.incremental) {
+            Logger.info(this, "Incremental decompilation, manifest is %[file]s", this.manifest);
+            result = new IncrementalStorage(
+                origin, previous, this.sourcesDir.toPath(), this.outputDir.toPath()
+            );
+        } else {
+            result = origin;
+        }
+        return result;
+    }
+
+    /**
+     * Pipeline that reads, decompiles and saves files.
+     * @return Pipeline.
+     */
+    private Pipeline pipeline() {
+        final Pipeline result = new Pipeline(
+            new Threads(this.threads, this.session), this.inflight, this.writers
+        );
+        Logger.info(
+            this,
+            "Keeping at most %d files in flight, %d threads save them",
+            result.inflight(),
+            result.writers()
+        );
+        return result;
     }
 }
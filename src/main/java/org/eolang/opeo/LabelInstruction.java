@@ -26,9 +26,7 @@ package org.eolang.opeo;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
-import org.eolang.jeo.representation.xmir.AllLabels;
 import org.eolang.jeo.representation.xmir.XmlLabel;
-import org.objectweb.asm.Label;
 
 /**
  * Label instruction.
@@ -66,14 +64,6 @@ public final class LabelInstruction implements Instruction {
         this(xml.identifier());
     }
 
-    /**
-     * Constructor.
-     * @param label Label.
-     */
-    public LabelInstruction(final Label label) {
-        this(new AllLabels().uid(label));
-    }
-
     /**
      * Constructor.
      * @param identifier Label identifier.
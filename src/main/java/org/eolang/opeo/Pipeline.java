@@ -0,0 +1,358 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Pipeline with bounded memory.
+ * Reads, transforms and writes items in three stages:
+ * <ol>
+ *     <li>a reader thread pulls items from the stream into a bounded queue;</li>
+ *     <li>{@link Threads} transform them in parallel;</li>
+ *     <li>writer threads serialize and save the results.</li>
+ * </ol>
+ * Transformers and writers share the given number of threads. By default,
+ * a quarter of them write and the rest transform: a writer only serializes
+ * and saves a document, which is much cheaper than its decompilation or
+ * compilation. With less than four threads, there are no writers at all
+ * and the results are written right in the transforming threads. The number
+ * of writers can be set explicitly, at least one thread always transforms.
+ * At most {@code limit} items are in flight between the reader and the writers.
+ * When the limit is reached, the reader waits until a writer saves something,
+ * so the number of parsed documents alive at once doesn't depend on the size
+ * of the project.
+ * @since 0.5
+ */
+public final class Pipeline {
+
+    /**
+     * Threads that transform items.
+     */
+    private final Threads threads;
+
+    /**
+     * Maximum number of items in flight, zero or less means "auto".
+     */
+    private final int limit;
+
+    /**
+     * Number of threads that write items, zero or less means "auto".
+     */
+    private final int writing;
+
+    /**
+     * Constructor.
+     * @param threads Threads that transform and write items.
+     */
+    public Pipeline(final Threads threads) {
+        this(threads, 0);
+    }
+
+    /**
+     * Constructor.
+     * @param threads Threads that transform and write items.
+     * @param limit Maximum number of items in flight, zero or less means "auto".
+     */
+    public Pipeline(final Threads threads, final int limit) {
+        this(threads, limit, 0);
+    }
+
+    /**
+     * Constructor.
+     * @param threads Threads that transform and write items.
+     * @param limit Maximum number of items in flight, zero or less means "auto".
+     * @param writers Number of threads that write items, zero or less means "auto".
+     */
+    public Pipeline(final Threads threads, final int limit, final int writers) {
+        this.threads = threads;
+        this.limit = limit;
+        this.writing = writers;
+    }
+
+    /**
+     * Maximum number of items in flight.
+     * By default, it is twice the number of threads, so every thread
+     * has one item in work and one item waiting for it.
+     * @return Limit.
+     */
+    public int inflight() {
+        final int result;
+        if (this.limit > 0) {
+            result = this.limit;
+        } else {
+            result = this.threads.size() * 2;
+        }
+        return result;
+    }
+
+    /**
+     * Number of threads that write items.
+     * They are taken from the threads budget, at least one thread is left
+     * for transformation.
+     * @return Number of writers, zero means that items are written right
+     *  in the transforming threads.
+     */
+    public int writers() {
+        final int result;
+        if (this.writing > 0) {
+            result = Math.min(this.writing, this.threads.size() - 1);
+        } else {
+            result = this.threads.size() / 4;
+        }
+        return result;
+    }
+
+    /**
+     * Run the pipeline.
+     * If anything fails, no new items are read or written, while the items
+     * being written are saved completely before the failure is rethrown,
+     * so no file is left half-written.
+     * @param items Items to read.
+     * @param transform Transformation of each item.
+     * @param sink Where to write the transformed items.
+     * @param <T> Item type.
+     * @param <R> Result type.
+     * @return Number of written items.
+     */
+    public <T, R> int run(
+        final Stream<T> items,
+        final Function<? super T, ? extends R> transform,
+        final Consumer<? super R> sink
+    ) {
+        final Semaphore permits = new Semaphore(this.inflight());
+        final BlockingQueue<Optional<T>> queue = new ArrayBlockingQueue<>(this.inflight() + 1);
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        final AtomicInteger written = new AtomicInteger(0);
+        final ExecutorService reader = Executors.newSingleThreadExecutor();
+        final int writers = this.writers();
+        final ExecutorService writer = Executors.newFixedThreadPool(Math.max(1, writers));
+        final Executor output;
+        if (writers > 0) {
+            output = writer;
+        } else {
+            output = Runnable::run;
+        }
+        try {
+            reader.execute(() -> Pipeline.read(items, queue, permits, failure));
+            new Threads(this.threads.size() - writers).each(
+                StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(
+                        new Queued<>(queue), Spliterator.ORDERED | Spliterator.NONNULL
+                    ),
+                    false
+                ),
+                item -> {
+                    final R result;
+                    try {
+                        Pipeline.rethrow(failure);
+                        result = transform.apply(item);
+                    } catch (final RuntimeException exception) {
+                        failure.compareAndSet(null, exception);
+                        permits.release();
+                        throw exception;
+                    }
+                    if (failure.get() == null) {
+                        output.execute(
+                            () -> Pipeline.write(sink, result, permits, failure, written)
+                        );
+                    } else {
+                        permits.release();
+                    }
+                }
+            );
+        } finally {
+            reader.shutdownNow();
+            queue.offer(Optional.empty());
+            Pipeline.finish(writer);
+        }
+        Pipeline.rethrow(failure);
+        return written.get();
+    }
+
+    /**
+     * Reader stage.
+     * @param items Items to read.
+     * @param queue Queue of read items, empty item marks the end.
+     * @param permits Permits for items in flight.
+     * @param failure The first failure.
+     * @param <T> Item type.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private static <T> void read(
+        final Stream<T> items,
+        final BlockingQueue<Optional<T>> queue,
+        final Semaphore permits,
+        final AtomicReference<RuntimeException> failure
+    ) {
+        try {
+            final Iterator<T> iterator = items.iterator();
+            while (failure.get() == null && iterator.hasNext()) {
+                permits.acquire();
+                queue.put(Optional.of(iterator.next()));
+            }
+            queue.put(Optional.empty());
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (final RuntimeException exception) {
+            failure.compareAndSet(null, exception);
+            queue.offer(Optional.empty());
+        }
+    }
+
+    /**
+     * Writer stage.
+     * @param sink Where to write.
+     * @param result Transformed item.
+     * @param permits Permits for items in flight.
+     * @param failure The first failure.
+     * @param written Number of written items.
+     * @param <R> Result type.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private static <R> void write(
+        final Consumer<? super R> sink,
+        final R result,
+        final Semaphore permits,
+        final AtomicReference<RuntimeException> failure,
+        final AtomicInteger written
+    ) {
+        try {
+            if (failure.get() == null) {
+                sink.accept(result);
+                written.incrementAndGet();
+            }
+        } catch (final RuntimeException exception) {
+            failure.compareAndSet(null, exception);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Let the writers save what they've already got.
+     * They aren't interrupted, since an interrupted write may leave a
+     * truncated file behind.
+     * @param writer Writers.
+     */
+    private static void finish(final ExecutorService writer) {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException exception) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Pipeline was interrupted", exception);
+        }
+    }
+
+    /**
+     * Rethrow the first failure of the reader or the writer, if any.
+     * @param failure The first failure.
+     */
+    private static void rethrow(final AtomicReference<RuntimeException> failure) {
+        final RuntimeException exception = failure.get();
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * Items from the queue until the empty item.
+     * The queue has one consumer at a time, since {@link Threads}
+     * take items one by one.
+     * @param <T> Item type.
+     * @since 0.5
+     */
+    private static final class Queued<T> implements Iterator<T> {
+
+        /**
+         * Queue.
+         */
+        private final BlockingQueue<Optional<T>> queue;
+
+        /**
+         * The next item, if it was already taken from the queue.
+         */
+        private Optional<T> head;
+
+        /**
+         * Whether the end of the queue is reached.
+         */
+        private boolean done;
+
+        /**
+         * Constructor.
+         * @param queue Queue.
+         */
+        Queued(final BlockingQueue<Optional<T>> queue) {
+            this.queue = queue;
+            this.head = Optional.empty();
+            this.done = false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!this.done && !this.head.isPresent()) {
+                try {
+                    this.head = this.queue.take();
+                } catch (final InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(
+                        "Reading of the pipeline was interrupted", exception
+                    );
+                }
+                this.done = !this.head.isPresent();
+            }
+            return this.head.isPresent();
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("The pipeline has no more items");
+            }
+            final T result = this.head.get();
+            this.head = Optional.empty();
+            return result;
+        }
+    }
+}
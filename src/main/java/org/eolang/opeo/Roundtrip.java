@@ -0,0 +1,146 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo;
+
+import com.jcabi.log.Logger;
+import com.jcabi.xml.XML;
+import java.util.function.Function;
+import org.eolang.opeo.compilation.JeoCompiler;
+import org.eolang.opeo.decompilation.WithoutAliases;
+import org.eolang.opeo.decompilation.agents.AllAgents;
+import org.eolang.opeo.jeo.JeoDecompiler;
+import org.eolang.opeo.storage.DummyStorage;
+import org.eolang.opeo.storage.OpcodeSet;
+import org.eolang.opeo.storage.Storage;
+import org.eolang.opeo.storage.XmirEntry;
+import org.eolang.opeo.storage.XmirSummary;
+
+/**
+ * Decompilation and compilation in one pass.
+ * Each jeo XMIR is decompiled, optimized and compiled back in memory,
+ * so the opeo XMIR is neither written to disk nor parsed again.
+ * Files with unsupported opcodes or try-catch blocks are saved as they are,
+ * exactly as {@link SelectiveDecompiler} and
+ * {@link org.eolang.opeo.compilation.SelectiveCompiler} do it together.
+ * @since 0.5
+ */
+public final class Roundtrip {
+
+    /**
+     * Storage with jeo XMIRs to read and where to save the compiled ones.
+     */
+    private final Storage storage;
+
+    /**
+     * Where to save the decompiled opeo XMIRs, if they are needed.
+     */
+    private final Storage decompiled;
+
+    /**
+     * Optimization of the decompiled opeo XMIR before compilation.
+     */
+    private final Function<XML, XML> optimization;
+
+    /**
+     * Pipeline that reads, transforms and saves files.
+     */
+    private final Pipeline pipeline;
+
+    /**
+     * Supported opcodes.
+     */
+    private final OpcodeSet supported;
+
+    /**
+     * Constructor.
+     * @param storage Storage with jeo XMIRs to read and where to save the compiled ones.
+     */
+    public Roundtrip(final Storage storage) {
+        this(storage, new DummyStorage(), Function.identity(), new Pipeline(new Threads()));
+    }
+
+    /**
+     * Constructor.
+     * @param storage Storage with jeo XMIRs to read and where to save the compiled ones.
+     * @param decompiled Where to save the decompiled opeo XMIRs.
+     * @param optimization Optimization of the decompiled opeo XMIR.
+     * @param pipeline Pipeline that reads, transforms and saves files.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public Roundtrip(
+        final Storage storage,
+        final Storage decompiled,
+        final Function<XML, XML> optimization,
+        final Pipeline pipeline
+    ) {
+        this.storage = storage;
+        this.decompiled = decompiled;
+        this.optimization = optimization;
+        this.pipeline = pipeline;
+        this.supported = new OpcodeSet(new AllAgents().supportedOpcodes());
+    }
+
+    /**
+     * Decompile, optimize and compile all the files.
+     * @return Number of saved files.
+     */
+    public int run() {
+        final int total = this.pipeline.run(this.storage.all(), this::roundtrip, Runnable::run);
+        Logger.info(this, "Processed %d files in memory", total);
+        return total;
+    }
+
+    /**
+     * Decompile, optimize and compile the entry if all its opcodes are supported.
+     * @param entry Entry with jeo XMIR.
+     * @return Saving of the results, which is done by the writer stage of the pipeline.
+     */
+    private Runnable roundtrip(final XmirEntry entry) {
+        final Runnable result;
+        if (entry.rejected(this.supported)) {
+            final XmirSummary summary = entry.summary();
+            Logger.info(
+                this,
+                "Skipping %s, because of unsupported opcodes: %s, or try-catch blocks: %s",
+                entry,
+                summary.unsupported(this.supported),
+                summary.trycatches()
+            );
+            result = () -> this.storage.save(entry);
+        } else {
+            final XmirEntry opeo = entry.transform(
+                xml -> this.optimization.apply(
+                    new WithoutAliases(new JeoDecompiler(xml, entry.relative()).decompile())
+                        .toXml()
+                )
+            );
+            final XmirEntry compiled = opeo.transform(xml -> new JeoCompiler(xml).compile());
+            result = () -> {
+                this.decompiled.save(opeo);
+                this.storage.save(compiled);
+            };
+        }
+        return result;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo;
+
+import com.jcabi.log.Logger;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.function.Function;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.eolang.opeo.storage.DummyStorage;
+import org.eolang.opeo.storage.FileStorage;
+import org.eolang.opeo.storage.Storage;
+
+/**
+ * Decompiles jeo XMIRs and compiles them back in one pass.
+ * It does the same as the "decompile" and "compile" goals together,
+ * but keeps the decompiled opeo XMIRs in memory instead of writing them
+ * to disk and parsing them again.
+ *
+ * @since 0.5
+ */
+@Mojo(name = "roundtrip", defaultPhase = LifecyclePhase.PROCESS_CLASSES)
+public final class RoundtripMojo extends AbstractMojo {
+
+    /**
+     * Source directory.
+     * Where to take jeo xmir from.
+     *
+     * @since 0.5.0
+     * @checkstyle MemberNameCheck (6 lines)
+     */
+    @Parameter(
+        property = "opeo.roundtrip.sourcesDir",
+        defaultValue = "${project.build.directory}/generated-sources/jeo-xmir"
+    )
+    private File sourcesDir;
+
+    /**
+     * Target directory.
+     * Where to save compiled jeo representations to.
+     *
+     * @since 0.5.0
+     * @checkstyle MemberNameCheck (6 lines)
+     */
+    @Parameter(
+        property = "opeo.roundtrip.outputDir",
+        defaultValue = "${project.build.directory}/generated-sources/jeo-xmir"
+    )
+    private File outputDir;
+
+    /**
+     * Directory where decompiled opeo XMIRs are saved.
+     * It is optional, if it isn't set, the decompiled XMIRs aren't written at all.
+     *
+     * @since 0.5.0
+     * @checkstyle MemberNameCheck (6 lines)
+     */
+    @Parameter(property = "opeo.roundtrip.decompiledDir")
+    private File decompiledDir;
+
+    /**
+     * Number of threads.
+     * Zero means "auto": all available processors divided by the degree
+     * of concurrency of the build ('-T' option).
+     *
+     * @since 0.5.0
+     */
+    @Parameter(property = "opeo.threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * Maximum number of files in flight between reading and saving.
+     * Zero means "auto": twice the number of threads.
+     *
+     * @since 0.5.0
+     */
+    @Parameter(property = "opeo.roundtrip.inflight", defaultValue = "0")
+    private int inflight;
+
+    /**
+     * Number of threads that save files, taken from the threads budget.
+     * Zero means "auto": a quarter of the threads.
+     *
+     * @since 0.5.0
+     */
+    @Parameter(property = "opeo.roundtrip.writers", defaultValue = "0")
+    private int writers;
+
+    /**
+     * Maven session.
+     *
+     * @since 0.5.0
+     */
+    @Parameter(defaultValue = "${session}", readonly = true)
+    private MavenSession session;
+
+    /**
+     * Whether the plugin is disabled.
+     * If it's disabled, then it won't do anything.
+     *
+     * @since 0.5.0
+     */
+    @Parameter(
+        property = "opeo.roundtrip.disabled",
+        defaultValue = "false"
+    )
+    private boolean disabled;
+
+    @Override
+    public void execute() {
+        if (this.disabled) {
+            Logger.info(this, "Roundtrip is disabled");
+        } else {
+            final Path input = this.sourcesDir.toPath();
+            final Path output = this.outputDir.toPath();
+            Logger.info(
+                this,
+                "Decompiling and compiling EO sources from %[file]s to %[file]s",
+                input,
+                output
+            );
+            new Roundtrip(
+                new FileStorage(input, output),
+                this.decompiled(),
+                Function.identity(),
+                new Pipeline(
+                    new Threads(this.threads, this.session), this.inflight, this.writers
+                )
+            ).run();
+        }
+    }
+
+    /**
+     * Where to save the decompiled opeo XMIRs.
+     * @return Storage.
+     */
+    private Storage decompiled() {
+        final Storage result;
+        if (Objects.isNull(this.decompiledDir)) {
+            result = new DummyStorage();
+        } else {
+            final Path dir = this.decompiledDir.toPath();
+            Logger.info(this, "Saving decompiled EO sources to %[file]s", dir);
+            result = new FileStorage(dir, dir);
+        }
+        return result;
+    }
+}
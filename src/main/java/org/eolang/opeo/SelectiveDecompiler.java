@@ -25,17 +25,15 @@ package org.eolang.opeo;
 
 import com.jcabi.log.Logger;
 import java.nio.file.Path;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 import org.eolang.opeo.decompilation.Decompiler;
 import org.eolang.opeo.decompilation.agents.AllAgents;
 import org.eolang.opeo.jeo.JeoDecompiler;
 import org.eolang.opeo.storage.FileStorage;
+import org.eolang.opeo.storage.OpcodeSet;
 import org.eolang.opeo.storage.Storage;
 import org.eolang.opeo.storage.WithoutAliasesStorage;
 import org.eolang.opeo.storage.XmirEntry;
+import org.eolang.opeo.storage.XmirSummary;
 
 /**
  * Selective decompiler.
@@ -44,6 +42,10 @@ import org.eolang.opeo.storage.XmirEntry;
  * supported by {@link AllAgents}.
  *
  * @since 0.1
+ * @todo #284:90min Decompile try-catch blocks.
+ *  Currently we skip decompilation of methods that contain try-catch blocks.
+ *  We need to implement decompilation of try-catch blocks.
+ *  Don't forget to add tests for the new functionality.
  */
 public final class SelectiveDecompiler implements Decompiler {
 
@@ -60,7 +62,12 @@ public final class SelectiveDecompiler implements Decompiler {
     /**
      * Supported opcodes.
      */
-    private final String[] supported;
+    private final OpcodeSet supported;
+
+    /**
+     * Pipeline that reads, decompiles and saves files.
+     */
+    private final Pipeline pipeline;
 
     /**
      * Constructor.
@@ -111,62 +118,77 @@ public final class SelectiveDecompiler implements Decompiler {
     public SelectiveDecompiler(
         final Storage storage, final Storage modified, final String... supported
     ) {
-        this.storage = storage;
-        this.modified = modified;
-        this.supported = supported.clone();
+        this(storage, modified, new Threads(), supported);
     }
 
-    @Override
-    public void decompile() {
-        this.storage.all().parallel().forEach(
-            entry -> {
-                final XmirEntry res;
-                final List<String> trycatches = entry.xpath(SelectiveDecompiler.trycatches());
-                final Set<String> opcodes = this.unsupported(entry);
-                if (opcodes.isEmpty() && trycatches.isEmpty()) {
-                    res = entry.transform(
-                        xml -> new JeoDecompiler(xml, entry.relative()).decompile()
-                    );
-                    this.modified.save(res);
-                } else {
-                    Logger.info(
-                        this,
-                        "Skipping %s, because of unsupported opcodes: %s, or try-catch blocks: %s",
-                        entry,
-                        opcodes,
-                        trycatches
-                    );
-                    res = entry;
-                }
-                this.storage.save(res);
-            }
-        );
+    /**
+     * Constructor.
+     * @param storage Storage from which retrieve the XMIRs and where to save the modified ones.
+     * @param modified Storage where to save the modified of each decompiled file.
+     * @param threads Threads to decompile files in parallel.
+     * @param supported Supported opcodes are used in selection.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public SelectiveDecompiler(
+        final Storage storage,
+        final Storage modified,
+        final Threads threads,
+        final String... supported
+    ) {
+        this(storage, modified, new Pipeline(threads), supported);
     }
 
     /**
-     * Find all opcodes that are not supported.
-     * @param entry XMIR entry.
-     * @return Set of unsupported opcodes.
+     * Constructor.
+     * @param storage Storage from which retrieve the XMIRs and where to save the modified ones.
+     * @param modified Storage where to save the modified of each decompiled file.
+     * @param pipeline Pipeline that reads, decompiles and saves files.
+     * @param supported Supported opcodes are used in selection.
+     * @checkstyle ParameterNumberCheck (5 lines)
      */
-    private Set<String> unsupported(final XmirEntry entry) {
-        final Set<String> all = entry.xpath("//o[@base='opcode']/@name")
-            .stream()
-            .map(s -> String.format("%s%s", s, "-"))
-            .map(s -> s.substring(0, s.indexOf('-')))
-            .collect(Collectors.toSet());
-        all.removeAll(Arrays.asList(this.supported));
-        return all;
+    public SelectiveDecompiler(
+        final Storage storage,
+        final Storage modified,
+        final Pipeline pipeline,
+        final String... supported
+    ) {
+        this.storage = storage;
+        this.modified = modified;
+        this.pipeline = pipeline;
+        this.supported = new OpcodeSet(supported);
+    }
+
+    @Override
+    public void decompile() {
+        this.pipeline.run(this.storage.all(), this::decompile, Runnable::run);
     }
 
     /**
-     * Xpath to find all try-catch blocks.
-     * @return Xpath.
-     * @todo #284:90min Decompile try-catch blocks.
-     *  Currently we skip decompilation of methods that contain try-catch blocks.
-     *  We need to implement decompilation of try-catch blocks.
-     *  Don't forget to add tests for the new functionality.
+     * Decompile the entry if all its opcodes are supported.
+     * @param entry The entry to decompile.
+     * @return Saving of the result, which is done by the writer stage of the pipeline.
      */
-    private static String trycatches() {
-        return "//o[@base='tuple' and contains(@name,'trycatchblocks')]/@name";
+    private Runnable decompile(final XmirEntry entry) {
+        final Runnable result;
+        if (entry.rejected(this.supported)) {
+            final XmirSummary summary = entry.summary();
+            Logger.info(
+                this,
+                "Skipping %s, because of unsupported opcodes: %s, or try-catch blocks: %s",
+                entry,
+                summary.unsupported(this.supported),
+                summary.trycatches()
+            );
+            result = () -> this.storage.save(entry);
+        } else {
+            final XmirEntry res = entry.transform(
+                xml -> new JeoDecompiler(xml, entry.relative()).decompile()
+            );
+            result = () -> {
+                this.modified.save(res);
+                this.storage.save(res);
+            };
+        }
+        return result;
     }
 }
@@ -0,0 +1,275 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo;
+
+import com.jcabi.log.Logger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import org.apache.maven.execution.MavenSession;
+
+/**
+ * Threads that process all the files in parallel.
+ * Each run uses its own {@link ForkJoinPool} instead of the common one,
+ * which is shared with Maven and other plugins, and shuts it down afterwards.
+ *
+ * <p>Items are handed out one by one in the encounter order of the stream:
+ * every free thread takes the next item. Unlike a parallel stream, which
+ * splits the items by position, this keeps the order of the storage,
+ * so when the largest items go first, the small ones fill the gaps at the end.</p>
+ * @since 0.5
+ */
+public final class Threads {
+
+    /**
+     * How long to wait for the busy workers when the processing fails, in seconds.
+     */
+    private static final long GRACE = 60L;
+
+    /**
+     * Number of threads.
+     */
+    private final int number;
+
+    /**
+     * Constructor.
+     * Uses all available processors.
+     */
+    public Threads() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     * @param configured Configured number of threads, zero or less means "auto".
+     * @param degree Degree of concurrency of the build, for example '-T 4' gives 4.
+     */
+    public Threads(final int configured, final int degree) {
+        this(Threads.auto(configured, degree));
+    }
+
+    /**
+     * Constructor.
+     * @param configured Configured number of threads, zero or less means "auto".
+     * @param session Maven session, its degree of concurrency is taken into account.
+     */
+    public Threads(final int configured, final MavenSession session) {
+        this(configured, Threads.degree(session));
+    }
+
+    /**
+     * Constructor.
+     * @param number Number of threads.
+     */
+    public Threads(final int number) {
+        this.number = number;
+    }
+
+    /**
+     * Number of threads.
+     * @return Parallelism level.
+     */
+    public int size() {
+        return this.number;
+    }
+
+    /**
+     * Apply action to all the items in parallel and sum the results.
+     * If any action fails, the rest of the items are skipped, while the actions
+     * that are already running are awaited before the failure is rethrown,
+     * so nothing is being written behind the caller's back.
+     * @param items Items to process.
+     * @param action Action to apply.
+     * @param <T> Item type.
+     * @return Sum of all the results.
+     */
+    public <T> int total(final Stream<T> items, final ToIntFunction<? super T> action) {
+        final Iterator<T> iterator = items.iterator();
+        final AtomicBoolean failed = new AtomicBoolean(false);
+        final ForkJoinPool pool = new ForkJoinPool(this.number);
+        try {
+            final List<ForkJoinTask<Integer>> workers = new ArrayList<>(this.number);
+            for (int worker = 0; worker < this.number; ++worker) {
+                workers.add(pool.submit(() -> Threads.drain(iterator, action, failed)));
+            }
+            int total = 0;
+            for (final ForkJoinTask<Integer> worker : workers) {
+                total += worker.get();
+            }
+            return total;
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parallel processing was interrupted", exception);
+        } catch (final ExecutionException exception) {
+            throw Threads.unwrapped(exception);
+        } finally {
+            failed.set(true);
+            pool.shutdown();
+            Threads.await(pool);
+        }
+    }
+
+    /**
+     * Apply action to all the items in parallel.
+     * @param items Items to process.
+     * @param action Action to apply.
+     * @param <T> Item type.
+     */
+    public <T> void each(final Stream<T> items, final Consumer<? super T> action) {
+        this.total(
+            items,
+            item -> {
+                action.accept(item);
+                return 1;
+            }
+        );
+    }
+
+    /**
+     * Take items one by one and apply the action to them.
+     * @param items Shared items.
+     * @param action Action to apply.
+     * @param failed Whether the processing failed and must be stopped.
+     * @param <T> Item type.
+     * @return Sum of the results.
+     */
+    private static <T> int drain(
+        final Iterator<T> items,
+        final ToIntFunction<? super T> action,
+        final AtomicBoolean failed
+    ) {
+        int total = 0;
+        try {
+            Optional<T> item = Threads.next(items, failed);
+            while (item.isPresent()) {
+                total += action.applyAsInt(item.get());
+                item = Threads.next(items, failed);
+            }
+        } catch (final RuntimeException | Error exception) {
+            failed.set(true);
+            throw exception;
+        }
+        return total;
+    }
+
+    /**
+     * Take the next item.
+     * @param items Shared items.
+     * @param failed Whether the processing failed and must be stopped.
+     * @param <T> Item type.
+     * @return Next item or empty if there are no more items to process.
+     */
+    private static <T> Optional<T> next(final Iterator<T> items, final AtomicBoolean failed) {
+        synchronized (items) {
+            final Optional<T> result;
+            if (!failed.get() && items.hasNext()) {
+                result = Optional.of(items.next());
+            } else {
+                result = Optional.empty();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Wait for the running actions to complete.
+     * The wait is bounded, so a hanging action doesn't hang the build.
+     * @param pool Pool that is shut down.
+     */
+    private static void await(final ForkJoinPool pool) {
+        try {
+            if (!pool.awaitTermination(Threads.GRACE, TimeUnit.SECONDS)) {
+                Logger.warn(
+                    Threads.class,
+                    "Some actions are still running after %d seconds, not waiting for them",
+                    Threads.GRACE
+                );
+            }
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Calculate the number of threads.
+     * @param configured Configured number of threads, zero or less means "auto".
+     * @param degree Degree of concurrency of the build.
+     * @return Number of threads.
+     */
+    private static int auto(final int configured, final int degree) {
+        final int result;
+        if (configured > 0) {
+            result = configured;
+        } else {
+            result = Math.max(
+                1, Runtime.getRuntime().availableProcessors() / Math.max(1, degree)
+            );
+        }
+        Logger.info(Threads.class, "Using %d threads", result);
+        return result;
+    }
+
+    /**
+     * Degree of concurrency of the build.
+     * @param session Maven session, it's absent when a mojo is run outside of Maven.
+     * @return Degree of concurrency, for example '-T 4' gives 4.
+     */
+    private static int degree(final MavenSession session) {
+        final int result;
+        if (Objects.isNull(session)) {
+            result = 1;
+        } else {
+            result = session.getRequest().getDegreeOfConcurrency();
+        }
+        return result;
+    }
+
+    /**
+     * Unwrap the original exception thrown by the action.
+     * @param exception Execution exception.
+     * @return Runtime exception to rethrow.
+     */
+    private static RuntimeException unwrapped(final ExecutionException exception) {
+        final Throwable cause = exception.getCause();
+        final RuntimeException result;
+        if (cause instanceof RuntimeException) {
+            result = (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        } else {
+            result = new IllegalStateException("Parallel processing failed", cause);
+        }
+        return result;
+    }
+}
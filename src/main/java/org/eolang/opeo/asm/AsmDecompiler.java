@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.asm;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import org.eolang.jeo.representation.directives.DirectivesClassVisitor;
+import org.eolang.jeo.representation.xmir.AllLabels;
+import org.eolang.opeo.jeo.JeoDecompiler;
+import org.objectweb.asm.ClassReader;
+import org.xembly.Directives;
+import org.xembly.Xembler;
+
+/**
+ * Decompiler that gets compiled class bytes and decompiles them into high-level EO constructs.
+ * It doesn't need XMIR files from jeo maven plugin: the class is read by ASM only once,
+ * the class skeleton is written right into DOM and method instructions are taken right
+ * from ASM, so they are never written into XMIR and read back.
+ * @since 0.5
+ */
+public final class AsmDecompiler {
+
+    /**
+     * Class bytecode.
+     */
+    private final byte[] bytecode;
+
+    /**
+     * Program package.
+     */
+    private final String pckg;
+
+    /**
+     * Constructor.
+     * @param bytecode Class bytecode.
+     * @param pckg Program package (relative path of the resulting XMIR).
+     */
+    public AsmDecompiler(final byte[] bytecode, final String pckg) {
+        this.bytecode = bytecode.clone();
+        this.pckg = pckg;
+    }
+
+    /**
+     * Decompile class.
+     * Jeo removes the aliases of programs without instructions, so do we.
+     * @return EO program.
+     */
+    public XML decompile() {
+        final List<AsmInstructions> methods = new ArrayList<>(0);
+        return new JeoDecompiler(
+            this.skeleton(methods),
+            this.pckg,
+            new AsmMethods(methods)::instructions
+        ).decompile();
+    }
+
+    /**
+     * Program skeleton built by jeo.
+     * Jeo remembers every label it writes in its thread-local {@link AllLabels}
+     * cache, so we clear it once the class is written, like the "disassemble"
+     * goal of jeo does.
+     * @param methods Where to put the instructions of the methods.
+     * @return Skeleton of the program.
+     */
+    private XML skeleton(final List<AsmInstructions> methods) {
+        try {
+            final DirectivesClassVisitor skeleton = new DirectivesClassVisitor(
+                Base64.getEncoder().encodeToString(this.bytecode), true
+            );
+            new ClassReader(this.bytecode).accept(new AsmSkeleton(skeleton, methods), 0);
+            final Directives program = new Directives(skeleton);
+            if (methods.stream().allMatch(method -> method.instructions().length == 0)) {
+                program.xpath("/program/metas/meta[head[text()='alias']]").remove();
+            }
+            return new XMLDocument(new Xembler(program).domQuietly());
+        } finally {
+            new AllLabels().clearCache();
+        }
+    }
+}
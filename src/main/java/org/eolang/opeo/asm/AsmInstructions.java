@@ -0,0 +1,225 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.asm;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.eolang.jeo.representation.HexData;
+import org.eolang.opeo.Instruction;
+import org.eolang.opeo.LabelInstruction;
+import org.eolang.opeo.OpcodeInstruction;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Method instructions collected by ASM.
+ * Each visited instruction is converted into {@link Instruction} with the same
+ * operands that jeo maven plugin puts into XMIR, so the decompiler can use them
+ * without parsing XMIR at all.
+ * @since 0.5
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class AsmInstructions extends MethodVisitor {
+
+    /**
+     * Method descriptor.
+     */
+    private final String desc;
+
+    /**
+     * Collected instructions.
+     */
+    private final List<Instruction> all;
+
+    /**
+     * Identifiers of the visited labels.
+     * Each method has its own table, so the decompilation of one method doesn't
+     * share labels with any other.
+     */
+    private final Map<Label, String> labels;
+
+    /**
+     * Does the method have constructs that we can't represent the same way jeo does?
+     * For example, try-catch blocks refer to labels which jeo identifies by itself.
+     */
+    private boolean inexact;
+
+    /**
+     * Constructor.
+     * @param descriptor Method descriptor.
+     */
+    public AsmInstructions(final String descriptor) {
+        super(Opcodes.ASM9);
+        this.desc = descriptor;
+        this.all = new ArrayList<>(0);
+        this.labels = new HashMap<>(0);
+        this.inexact = false;
+    }
+
+    /**
+     * Method descriptor.
+     * @return Descriptor.
+     */
+    public String descriptor() {
+        return this.desc;
+    }
+
+    /**
+     * Collected instructions.
+     * @return Instructions in the order of appearance.
+     */
+    public Instruction[] instructions() {
+        return this.all.toArray(new Instruction[0]);
+    }
+
+    /**
+     * Are the collected instructions the same as jeo would produce?
+     * @return True if they are.
+     */
+    public boolean exact() {
+        return !this.inexact;
+    }
+
+    @Override
+    public void visitInsn(final int opcode) {
+        this.all.add(new OpcodeInstruction(opcode));
+    }
+
+    @Override
+    public void visitIntInsn(final int opcode, final int operand) {
+        this.all.add(new OpcodeInstruction(opcode, operand));
+    }
+
+    @Override
+    public void visitVarInsn(final int opcode, final int index) {
+        this.all.add(new OpcodeInstruction(opcode, index));
+    }
+
+    @Override
+    public void visitTypeInsn(final int opcode, final String type) {
+        this.all.add(new OpcodeInstruction(opcode, type));
+    }
+
+    @Override
+    public void visitFieldInsn(
+        final int opcode, final String owner, final String name, final String descriptor
+    ) {
+        this.all.add(new OpcodeInstruction(opcode, owner, name, descriptor));
+    }
+
+    @Override
+    public void visitMethodInsn(
+        final int opcode,
+        final String owner,
+        final String name,
+        final String descriptor,
+        final boolean interfaced
+    ) {
+        this.all.add(new OpcodeInstruction(opcode, owner, name, descriptor, interfaced));
+    }
+
+    @Override
+    public void visitInvokeDynamicInsn(
+        final String name,
+        final String descriptor,
+        final Handle bootstrap,
+        final Object... arguments
+    ) {
+        final List<Object> operands = new ArrayList<>(3 + arguments.length);
+        operands.add(name);
+        operands.add(descriptor);
+        operands.add(bootstrap);
+        operands.addAll(Arrays.asList(arguments));
+        this.all.add(new OpcodeInstruction(Opcodes.INVOKEDYNAMIC, operands.toArray()));
+    }
+
+    @Override
+    public void visitJumpInsn(final int opcode, final Label label) {
+        this.all.add(
+            new OpcodeInstruction(opcode, new org.eolang.opeo.ast.Label(this.uid(label)))
+        );
+    }
+
+    @Override
+    public void visitLabel(final Label label) {
+        this.all.add(new LabelInstruction(this.uid(label)));
+    }
+
+    @Override
+    public void visitLdcInsn(final Object value) {
+        this.all.add(new OpcodeInstruction(Opcodes.LDC, value));
+    }
+
+    @Override
+    public void visitIincInsn(final int index, final int increment) {
+        this.all.add(new OpcodeInstruction(Opcodes.IINC, index, increment));
+    }
+
+    @Override
+    public void visitTableSwitchInsn(
+        final int min, final int max, final Label dflt, final Label... labels
+    ) {
+        this.inexact = true;
+        this.all.add(new OpcodeInstruction(Opcodes.TABLESWITCH, min, max, dflt, labels));
+    }
+
+    @Override
+    public void visitLookupSwitchInsn(final Label dflt, final int[] keys, final Label[] labels) {
+        this.inexact = true;
+        this.all.add(new OpcodeInstruction(Opcodes.LOOKUPSWITCH, dflt, keys, labels));
+    }
+
+    @Override
+    public void visitMultiANewArrayInsn(final String descriptor, final int dimensions) {
+        this.all.add(new OpcodeInstruction(Opcodes.MULTIANEWARRAY, descriptor, dimensions));
+    }
+
+    @Override
+    public void visitTryCatchBlock(
+        final Label start, final Label end, final Label handler, final String type
+    ) {
+        this.inexact = true;
+    }
+
+    /**
+     * Identifier of the label.
+     * @param label ASM label.
+     * @return Hex-encoded identifier, the same way jeo puts it into XMIR.
+     */
+    private String uid(final Label label) {
+        return this.labels.computeIfAbsent(
+            label,
+            key -> new HexData(
+                UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8)
+            ).value()
+        );
+    }
+}
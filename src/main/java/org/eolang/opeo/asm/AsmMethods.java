@@ -0,0 +1,70 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.asm;
+
+import java.util.List;
+import org.eolang.jeo.representation.xmir.XmlMethod;
+import org.eolang.opeo.Instruction;
+import org.eolang.opeo.jeo.JeoInstructions;
+
+/**
+ * Instructions of all class methods read by ASM.
+ * Methods are indexed in the order they appear in the class file, which is the same
+ * order jeo maven plugin uses. If ASM instructions can't be used for a method
+ * (descriptor mismatch, try-catch blocks, switches), we fall back to the XMIR instructions.
+ * @since 0.5
+ */
+public final class AsmMethods {
+
+    /**
+     * Methods in the order of appearance.
+     */
+    private final List<AsmInstructions> methods;
+
+    /**
+     * Constructor.
+     * @param methods Methods in the order of appearance.
+     */
+    AsmMethods(final List<AsmInstructions> methods) {
+        this.methods = methods;
+    }
+
+    /**
+     * Instructions of the method.
+     * @param index Method index in the class.
+     * @param method Method from XMIR.
+     * @return Instructions.
+     */
+    public Instruction[] instructions(final int index, final XmlMethod method) {
+        final Instruction[] result;
+        if (index < this.methods.size()
+            && this.methods.get(index).exact()
+            && this.methods.get(index).descriptor().equals(method.descriptor())) {
+            result = this.methods.get(index).instructions();
+        } else {
+            result = new JeoInstructions(method).instructions();
+        }
+        return result;
+    }
+}
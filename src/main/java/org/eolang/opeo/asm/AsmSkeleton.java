@@ -0,0 +1,249 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.asm;
+
+import java.util.List;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Class visitor that builds the class skeleton and collects method instructions at once.
+ * Every method is buffered until its end. Then its instructions go to {@link AsmInstructions},
+ * and the skeleton gets the method without instructions if the decompiler will take them
+ * from ASM anyway. Otherwise, the skeleton gets the whole method, so the decompiler can
+ * fall back to the XMIR instructions.
+ * @since 0.5
+ */
+final class AsmSkeleton extends ClassVisitor {
+
+    /**
+     * Methods in the order of appearance.
+     */
+    private final List<AsmInstructions> methods;
+
+    /**
+     * Constructor.
+     * @param skeleton Visitor that builds the class skeleton.
+     * @param methods Where to put the methods in the order of appearance.
+     */
+    AsmSkeleton(final ClassVisitor skeleton, final List<AsmInstructions> methods) {
+        super(Opcodes.ASM9, skeleton);
+        this.methods = methods;
+    }
+
+    @Override
+    public MethodVisitor visitMethod(
+        final int access,
+        final String name,
+        final String descriptor,
+        final String signature,
+        final String[] exceptions
+    ) {
+        final AsmInstructions instructions = new AsmInstructions(descriptor);
+        this.methods.add(instructions);
+        return new Buffered(
+            super.visitMethod(access, name, descriptor, signature, exceptions),
+            instructions,
+            access,
+            name,
+            descriptor,
+            signature,
+            exceptions
+        );
+    }
+
+    /**
+     * Method buffered until its end.
+     * @since 0.5
+     */
+    private static final class Buffered extends MethodNode {
+
+        /**
+         * Visitor that builds the method skeleton.
+         */
+        private final MethodVisitor skeleton;
+
+        /**
+         * Method instructions.
+         */
+        private final AsmInstructions instructions;
+
+        /**
+         * Constructor.
+         * @param skeleton Visitor that builds the method skeleton.
+         * @param instructions Method instructions.
+         * @param access Method access.
+         * @param name Method name.
+         * @param descriptor Method descriptor.
+         * @param signature Method signature.
+         * @param exceptions Method exceptions.
+         * @checkstyle ParameterNumberCheck (10 lines)
+         */
+        Buffered(
+            final MethodVisitor skeleton,
+            final AsmInstructions instructions,
+            final int access,
+            final String name,
+            final String descriptor,
+            final String signature,
+            final String[] exceptions
+        ) {
+            super(Opcodes.ASM9, access, name, descriptor, signature, exceptions);
+            this.skeleton = skeleton;
+            this.instructions = instructions;
+        }
+
+        @Override
+        public void visitEnd() {
+            this.accept(this.instructions);
+            if (this.instructions.exact()) {
+                this.accept(new Bodiless(this.skeleton));
+            } else {
+                this.accept(this.skeleton);
+            }
+        }
+    }
+
+    /**
+     * Method visitor that skips all the instructions of a method.
+     * Everything else, like annotations and maxs, goes to the skeleton.
+     * @since 0.5
+     */
+    @SuppressWarnings("PMD.TooManyMethods")
+    private static final class Bodiless extends MethodVisitor {
+
+        /**
+         * Constructor.
+         * @param skeleton Visitor that builds the method skeleton.
+         */
+        Bodiless(final MethodVisitor skeleton) {
+            super(Opcodes.ASM9, skeleton);
+        }
+
+        @Override
+        public void visitFrame(
+            final int type,
+            final int nlocal,
+            final Object[] local,
+            final int nstack,
+            final Object[] stack
+        ) {
+            // The frames are computed again after compilation.
+        }
+
+        @Override
+        public void visitInsn(final int opcode) {
+            // The instruction is taken from ASM.
+        }
+
+        @Override
+        public void visitIntInsn(final int opcode, final int operand) {
+            // The instruction is taken from ASM.
+        }
+
+        @Override
+        public void visitVarInsn(final int opcode, final int index) {
+            // The instruction is taken from ASM.
+        }
+
+        @Override
+        public void visitTypeInsn(final int opcode, final String type) {
+            // The instruction is taken from ASM.
+        }
+
+        @Override
+        public void visitFieldInsn(
+            final int opcode, final String owner, final String name, final String descriptor
+        ) {
+            // The instruction is taken from ASM.
+        }
+
+        @Override
+        public void visitMethodInsn(
+            final int opcode,
+            final String owner,
+            final String name,
+            final String descriptor,
+            final boolean interfaced
+        ) {
+            // The instruction is taken from ASM.
+        }
+
+        @Override
+        public void visitInvokeDynamicInsn(
+            final String name,
+            final String descriptor,
+            final Handle bootstrap,
+            final Object... arguments
+        ) {
+            // The instruction is taken from ASM.
+        }
+
+        @Override
+        public void visitJumpInsn(final int opcode, final Label label) {
+            // The instruction is taken from ASM.
+        }
+
+        @Override
+        public void visitLabel(final Label label) {
+            // The label is taken from ASM.
+        }
+
+        @Override
+        public void visitLdcInsn(final Object value) {
+            // The instruction is taken from ASM.
+        }
+
+        @Override
+        public void visitIincInsn(final int index, final int increment) {
+            // The instruction is taken from ASM.
+        }
+
+        @Override
+        public void visitMultiANewArrayInsn(final String descriptor, final int dimensions) {
+            // The instruction is taken from ASM.
+        }
+
+        @Override
+        public void visitLineNumber(final int line, final Label start) {
+            // Line numbers refer to the skipped labels.
+        }
+
+        @Override
+        public void visitLocalVariable(
+            final String name,
+            final String descriptor,
+            final String signature,
+            final Label start,
+            final Label end,
+            final int index
+        ) {
+            // Local variables refer to the skipped labels.
+        }
+    }
+}
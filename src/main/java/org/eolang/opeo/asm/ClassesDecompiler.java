@@ -0,0 +1,417 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.asm;
+
+import com.jcabi.log.Logger;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.cactoos.Scalar;
+import org.cactoos.scalar.Unchecked;
+import org.eolang.opeo.Threads;
+import org.eolang.opeo.decompilation.Decompiler;
+import org.eolang.opeo.storage.DecompilationStorage;
+import org.eolang.opeo.storage.Storage;
+import org.eolang.opeo.storage.WithoutAliasesStorage;
+import org.eolang.opeo.storage.XmirEntry;
+
+/**
+ * Decompiler of compiled classes.
+ * Reads '.class' files and '.jar' archives right from the folder and decompiles
+ * them into high-level EO constructs, skipping the jeo XMIR files completely.
+ * Only names and sizes of the classes are collected in advance, the bytecode of
+ * each class is read right before its decompilation.
+ * @since 0.5
+ */
+public final class ClassesDecompiler implements Decompiler {
+
+    /**
+     * Folder with compiled classes and jars.
+     */
+    private final Path classes;
+
+    /**
+     * The storage where the decompiled XMIRs are saved.
+     */
+    private final Storage storage;
+
+    /**
+     * Threads to decompile classes in parallel.
+     */
+    private final Threads threads;
+
+    /**
+     * Constructor.
+     * @param classes Folder with compiled classes and jars.
+     * @param output Path to the output directory.
+     */
+    public ClassesDecompiler(final Path classes, final Path output) {
+        this(classes, new WithoutAliasesStorage(new DecompilationStorage(classes, output)));
+    }
+
+    /**
+     * Constructor.
+     * @param classes Folder with compiled classes and jars.
+     * @param storage The storage where the decompiled XMIRs are saved.
+     */
+    public ClassesDecompiler(final Path classes, final Storage storage) {
+        this(classes, storage, new Threads());
+    }
+
+    /**
+     * Constructor.
+     * @param classes Folder with compiled classes and jars.
+     * @param storage The storage where the decompiled XMIRs are saved.
+     * @param threads Threads to decompile classes in parallel.
+     */
+    public ClassesDecompiler(final Path classes, final Storage storage, final Threads threads) {
+        this.classes = classes;
+        this.storage = storage;
+        this.threads = threads;
+    }
+
+    @Override
+    public void decompile() {
+        try (Jars jars = new Jars()) {
+            Logger.info(
+                this,
+                "Decompiled %d classes from %[file]s",
+                this.threads.total(this.all(jars), this::decompile),
+                this.classes
+            );
+        }
+    }
+
+    /**
+     * Decompile a single class.
+     * @param clazz Compiled class.
+     * @return Number of decompiled classes.
+     */
+    private int decompile(final Compiled clazz) {
+        this.storage.save(
+            new XmirEntry(
+                new Unchecked<>(
+                    () -> new AsmDecompiler(clazz.bytecode(), clazz.relative()).decompile()
+                ),
+                clazz.relative()
+            )
+        );
+        return 1;
+    }
+
+    /**
+     * All compiled classes from the folder including the ones packed into jars.
+     * The largest classes go first, so they don't hold up the end of the build.
+     * Each class is decompiled once: classes from the folder win over the ones
+     * from jars, and jars are taken in the order of their paths.
+     * @param jars Open jars.
+     * @return Stream of compiled classes.
+     */
+    private Stream<Compiled> all(final Jars jars) {
+        if (!Files.exists(this.classes)) {
+            throw new IllegalArgumentException(
+                String.format("The classes folder '%s' doesn't exist", this.classes)
+            );
+        }
+        try (Stream<Path> files = Files.walk(this.classes)) {
+            final Map<String, Compiled> unique = new LinkedHashMap<>(0);
+            final List<Path> archives = new ArrayList<>(0);
+            files.filter(Files::isRegularFile).sorted().forEach(
+                path -> {
+                    final String name = path.getFileName().toString();
+                    if (name.endsWith(".jar")) {
+                        archives.add(path);
+                    } else if (ClassesDecompiler.isClass(name)) {
+                        ClassesDecompiler.add(
+                            unique,
+                            new Compiled(
+                                () -> ClassesDecompiler.read(path),
+                                path.toFile().length(),
+                                this.classes.relativize(path).toString()
+                            ),
+                            path.toString()
+                        );
+                    }
+                }
+            );
+            for (final Path jar : archives) {
+                for (final Compiled clazz : ClassesDecompiler.unpacked(jars.open(jar))) {
+                    ClassesDecompiler.add(unique, clazz, jar.toString());
+                }
+            }
+            return unique.values().stream().sorted(
+                Comparator.comparingLong(Compiled::size).reversed()
+            );
+        } catch (final IOException exception) {
+            throw new IllegalStateException(
+                String.format("Can't retrieve classes from the '%s' folder", this.classes),
+                exception
+            );
+        }
+    }
+
+    /**
+     * Add the class unless the class with the same path is already there.
+     * Both copies would be saved to the same XMIR concurrently otherwise.
+     * @param unique Classes by their paths.
+     * @param clazz Class to add.
+     * @param origin Where the class comes from.
+     */
+    private static void add(
+        final Map<String, Compiled> unique, final Compiled clazz, final String origin
+    ) {
+        final String key = clazz.relative().replace('\\', '/');
+        if (unique.putIfAbsent(key, clazz) != null) {
+            Logger.warn(
+                ClassesDecompiler.class,
+                "Class '%s' from '%s' is skipped, it's already taken from another place",
+                key,
+                origin
+            );
+        }
+    }
+
+    /**
+     * All the classes from jar.
+     * Versioned classes from 'META-INF/versions' are skipped, since they
+     * would overwrite the base version of the same class.
+     * @param zip Open jar.
+     * @return Compiled classes.
+     */
+    private static Collection<Compiled> unpacked(final ZipFile zip) {
+        final Collection<Compiled> result = new ArrayList<>(0);
+        final Enumeration<? extends ZipEntry> entries = zip.entries();
+        while (entries.hasMoreElements()) {
+            final ZipEntry entry = entries.nextElement();
+            final String name = entry.getName();
+            if (!entry.isDirectory() && ClassesDecompiler.isClass(name)
+                && !name.startsWith("META-INF/versions/")) {
+                result.add(ClassesDecompiler.compiled(zip, entry));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Class from jar.
+     * If the jar doesn't know the size of the class, the class is read right away
+     * to learn it, otherwise it's read on demand.
+     * @param zip Open jar.
+     * @param entry Jar entry.
+     * @return Compiled class.
+     */
+    private static Compiled compiled(final ZipFile zip, final ZipEntry entry) {
+        final Compiled result;
+        if (entry.getSize() < 0) {
+            try {
+                final byte[] bytes = ClassesDecompiler.read(zip.getInputStream(entry));
+                result = new Compiled(() -> bytes, bytes.length, entry.getName());
+            } catch (final IOException exception) {
+                throw new IllegalStateException(
+                    String.format(
+                        "Can't read class '%s' from the '%s' jar", entry.getName(), zip.getName()
+                    ),
+                    exception
+                );
+            }
+        } else {
+            result = new Compiled(
+                () -> ClassesDecompiler.read(zip.getInputStream(entry)),
+                entry.getSize(),
+                entry.getName()
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Read class file.
+     * @param path Path to the class file.
+     * @return Bytecode.
+     */
+    private static byte[] read(final Path path) {
+        try {
+            return Files.readAllBytes(path);
+        } catch (final IOException exception) {
+            throw new IllegalStateException(
+                String.format("Can't read class file '%s'", path),
+                exception
+            );
+        }
+    }
+
+    /**
+     * Read the entire stream.
+     * @param stream Input stream.
+     * @return Bytes.
+     * @throws IOException If fails.
+     */
+    private static byte[] read(final InputStream stream) throws IOException {
+        try (InputStream input = stream) {
+            final ByteArrayOutputStream result = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read = input.read(buffer);
+            while (read != -1) {
+                result.write(buffer, 0, read);
+                read = input.read(buffer);
+            }
+            return result.toByteArray();
+        }
+    }
+
+    /**
+     * Check if the file is a class we can decompile.
+     * @param name File name.
+     * @return True if it is.
+     */
+    private static boolean isClass(final String name) {
+        return name.endsWith(".class")
+            && !name.endsWith("module-info.class")
+            && !name.endsWith("package-info.class");
+    }
+
+    /**
+     * Compiled class.
+     * @since 0.5
+     */
+    private static final class Compiled {
+
+        /**
+         * Class bytecode, read on demand.
+         */
+        private final Unchecked<byte[]> bytes;
+
+        /**
+         * Size of the class in bytes.
+         */
+        private final long length;
+
+        /**
+         * Relative path of the resulting XMIR.
+         */
+        private final String path;
+
+        /**
+         * Constructor.
+         * @param bytes Class bytecode, read on demand.
+         * @param length Size of the class in bytes.
+         * @param clazz Relative path of the class file.
+         */
+        Compiled(final Scalar<byte[]> bytes, final long length, final String clazz) {
+            this.bytes = new Unchecked<>(bytes);
+            this.length = length;
+            this.path = clazz.replaceAll("\\.class$", ".xmir");
+        }
+
+        /**
+         * Class bytecode.
+         * @return Bytes.
+         */
+        byte[] bytecode() {
+            return this.bytes.value();
+        }
+
+        /**
+         * Size of the class in bytes.
+         * @return Size.
+         */
+        long size() {
+            return this.length;
+        }
+
+        /**
+         * Relative path of the resulting XMIR.
+         * @return Relative path.
+         */
+        String relative() {
+            return this.path;
+        }
+    }
+
+    /**
+     * Jars that stay open while their classes are decompiled.
+     * @since 0.5
+     */
+    private static final class Jars implements Closeable {
+
+        /**
+         * Open jars.
+         */
+        private final List<ZipFile> all;
+
+        /**
+         * Constructor.
+         */
+        Jars() {
+            this.all = new ArrayList<>(0);
+        }
+
+        /**
+         * Open jar.
+         * @param jar Path to the jar.
+         * @return Open jar.
+         */
+        ZipFile open(final Path jar) {
+            try {
+                final ZipFile zip = new ZipFile(jar.toFile());
+                this.all.add(zip);
+                return zip;
+            } catch (final IOException exception) {
+                throw new IllegalStateException(
+                    String.format("Can't read classes from the '%s' jar", jar),
+                    exception
+                );
+            }
+        }
+
+        @Override
+        public void close() {
+            this.all.forEach(
+                zip -> {
+                    try {
+                        zip.close();
+                    } catch (final IOException exception) {
+                        throw new IllegalStateException(
+                            String.format("Can't close the '%s' jar", zip.getName()),
+                            exception
+                        );
+                    }
+                }
+            );
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.ast;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eolang.jeo.representation.xmir.XmlNode;
+import org.xembly.Directive;
+import org.xembly.Directives;
+import org.xembly.Transformers;
+import org.xembly.Xembler;
+
+/**
+ * XMIR written straight into DOM.
+ * Directives are applied to a fresh document and its elements are used as they are,
+ * so the document is never serialized to a string and parsed back.
+ * @since 0.5
+ */
+public final class DomXmir {
+
+    /**
+     * Directives that build the document.
+     */
+    private final Iterable<Directive> directives;
+
+    /**
+     * Constructor.
+     * Each node is written under the same root element in the given order.
+     * @param nodes Nodes to write.
+     */
+    public DomXmir(final List<? extends Xmir> nodes) {
+        this(DomXmir.joined(nodes));
+    }
+
+    /**
+     * Constructor.
+     * @param directives Directives that build the document with a single root element.
+     */
+    public DomXmir(final Iterable<Directive> directives) {
+        this.directives = directives;
+    }
+
+    /**
+     * Root element of the document.
+     * @return Root element.
+     */
+    public XmlNode root() {
+        return new XmlNode(
+            new Xembler(this.directives, new Transformers.Node())
+                .domQuietly()
+                .getDocumentElement()
+        );
+    }
+
+    /**
+     * Child elements of the root.
+     * @return Elements in the document order.
+     */
+    public List<XmlNode> children() {
+        return this.root().children().collect(Collectors.toList());
+    }
+
+    /**
+     * Join directives of all the nodes under one root element.
+     * @param nodes Nodes.
+     * @return Directives.
+     */
+    private static Iterable<Directive> joined(final List<? extends Xmir> nodes) {
+        final Directives result = new Directives().add("o");
+        for (final Xmir node : nodes) {
+            result.xpath("/o").append(node.toXmir());
+        }
+        return result;
+    }
+}
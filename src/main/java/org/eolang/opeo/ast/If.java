@@ -29,8 +29,6 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
-import org.eolang.jeo.representation.HexData;
-import org.eolang.jeo.representation.xmir.AllLabels;
 import org.eolang.jeo.representation.xmir.XmlNode;
 import org.objectweb.asm.Opcodes;
 import org.xembly.Directive;
@@ -69,20 +67,6 @@ public final class If implements AstNode {
         this(If.xfirst(node, search), If.xsecond(node, search), If.xtarget(node));
     }
 
-    /**
-     * Constructor.
-     * @param first First value.
-     * @param second Second value.
-     * @param target Target label.
-     */
-    public If(
-        final AstNode first,
-        final AstNode second,
-        final org.objectweb.asm.Label target
-    ) {
-        this(first, second, new Label(new HexData(new AllLabels().uid(target)).value()));
-    }
-
     /**
      * Constructor.
      * @param first First value.
@@ -102,7 +86,7 @@ public final class If implements AstNode {
                 this.first.opcodes().stream(),
                 this.second.opcodes().stream()
             ),
-            Stream.of(new Opcode(Opcodes.IF_ICMPGT, this.target.toAsmLabel()))
+            Stream.of(new Opcode(Opcodes.IF_ICMPGT, this.target))
         ).collect(Collectors.toList());
     }
 
@@ -23,48 +23,79 @@
  */
 package org.eolang.opeo.ast;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
-import org.eolang.jeo.representation.directives.DirectivesData;
-import org.eolang.jeo.representation.xmir.AllLabels;
+import org.eolang.jeo.representation.HexData;
 import org.eolang.jeo.representation.xmir.HexString;
 import org.eolang.jeo.representation.xmir.XmlNode;
 import org.xembly.Directive;
+import org.xembly.Directives;
 
 /**
  * Label ast node.
+ * The label is identified only by its identifier, so it doesn't depend on any global
+ * registry of ASM labels and might be safely used by several compilations at once.
  * @since 0.1
  */
 @ToString
-@EqualsAndHashCode
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public final class Label implements AstNode {
 
     /**
      * Label identifier.
      */
+    @EqualsAndHashCode.Include
     private final String identifier;
 
+    /**
+     * Hex representation of the label in XMIR.
+     */
+    private final String hex;
+
     /**
      * Constructor.
+     * Keeps the hex text of the node as is, so the label is written back unchanged.
      * @param node XML node.
      */
     public Label(final XmlNode node) {
-        this(node.text());
+        this(new HexString(node.text().trim()).decode(), node.text().trim());
     }
 
     /**
      * Constructor.
-     * @param identifier Label identifier.
+     * The identifier is written back as UTF-8 bytes, the same way jeo does it.
+     * @param identifier Label identifier in hex.
      */
     public Label(final String identifier) {
-        this.identifier = new HexString(identifier.trim()).decode();
+        this(
+            new HexString(identifier.trim()).decode(),
+            new HexData(
+                new HexString(identifier.trim()).decode().getBytes(StandardCharsets.UTF_8)
+            ).value()
+        );
+    }
+
+    /**
+     * Constructor.
+     * @param identifier Decoded label identifier.
+     * @param hex Hex representation of the label in XMIR.
+     */
+    private Label(final String identifier, final String hex) {
+        this.identifier = identifier;
+        this.hex = hex;
     }
 
     @Override
     public Iterable<Directive> toXmir() {
-        return new DirectivesData(new AllLabels().label(this.identifier));
+        return new Directives()
+            .add("o")
+            .attr("base", "label")
+            .attr("data", "bytes")
+            .set(this.hex)
+            .up();
     }
 
     @Override
@@ -73,11 +104,10 @@ public final class Label implements AstNode {
     }
 
     /**
-     * Convert to ASM label.
-     * @return ASM label.
+     * Hex representation of the label in XMIR.
+     * @return Hex text.
      */
-    org.objectweb.asm.Label toAsmLabel() {
-        return new AllLabels().label(this.identifier);
+    String hex() {
+        return this.hex;
     }
-
 }
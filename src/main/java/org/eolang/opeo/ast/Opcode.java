@@ -28,18 +28,20 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.eolang.jeo.representation.directives.DirectivesInstruction;
-import org.eolang.jeo.representation.xmir.XmlInstruction;
+import org.eolang.jeo.representation.directives.DirectivesOperand;
 import org.eolang.jeo.representation.xmir.XmlNode;
-import org.eolang.jeo.representation.xmir.XmlOperand;
 import org.eolang.opeo.Instruction;
+import org.eolang.opeo.jeo.JeoInstruction;
 import org.xembly.Directive;
+import org.xembly.Directives;
 
 /**
  * Opcode output node.
+ * Jeo writes the instruction itself, then the operands are appended to it one by one.
+ * Labels render themselves, so their hex text is written back exactly as it was read.
  * @since 0.1
  */
 @ToString
@@ -103,21 +105,7 @@ public final class Opcode implements AstNode {
      * @param node XMIR node.
      */
     public Opcode(final XmlNode node) {
-        this(new XmlInstruction(node));
-    }
-
-    /**
-     * Constructor.
-     * @param instruction XMIR instruction.
-     */
-    public Opcode(final XmlInstruction instruction) {
-        this(
-            instruction.opcode(),
-            instruction.operands()
-                .stream()
-                .map(XmlOperand::asObject)
-                .collect(Collectors.toList())
-        );
+        this(new JeoInstruction(node));
     }
 
     public Opcode(final Instruction instruction) {
@@ -138,7 +126,20 @@ public final class Opcode implements AstNode {
 
     @Override
     public Iterable<Directive> toXmir() {
-        return new DirectivesInstruction(this.bytecode, this.counting, this.operands.toArray());
+        final Directives result = new Directives()
+            .push()
+            .append(new DirectivesInstruction(this.bytecode, this.counting, new Object[0]))
+            .pop()
+            .push()
+            .xpath("o[last()]");
+        for (final Object operand : this.operands) {
+            if (operand instanceof Label) {
+                result.append(((Label) operand).toXmir());
+            } else {
+                result.append(new DirectivesOperand(operand));
+            }
+        }
+        return result.pop();
     }
 
     @Override
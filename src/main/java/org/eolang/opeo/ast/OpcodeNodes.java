@@ -24,9 +24,7 @@
 package org.eolang.opeo.ast;
 
 import java.util.List;
-import java.util.stream.Collectors;
 import org.eolang.jeo.representation.xmir.XmlNode;
-import org.xembly.Xembler;
 
 /**
  * Utility class that transforms {@link AstNode} to a list of XmlNode`s.
@@ -53,12 +51,6 @@ public final class OpcodeNodes {
      * @return List of XmlNode`s.
      */
     public List<XmlNode> opcodes() {
-        return this.node.opcodes()
-            .stream()
-            .map(AstNode::toXmir)
-            .map(Xembler::new)
-            .map(Xembler::xmlQuietly)
-            .map(XmlNode::new)
-            .collect(Collectors.toList());
+        return new DomXmir(this.node.opcodes()).children();
     }
 }
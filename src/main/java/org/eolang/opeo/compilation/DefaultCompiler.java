@@ -25,6 +25,7 @@ package org.eolang.opeo.compilation;
 
 import com.jcabi.log.Logger;
 import java.nio.file.Path;
+import org.eolang.opeo.Threads;
 import org.eolang.opeo.storage.CompilationStorage;
 import org.eolang.opeo.storage.Storage;
 import org.eolang.opeo.storage.XmirEntry;
@@ -40,6 +41,11 @@ public class DefaultCompiler implements Compiler {
      */
     private final Storage storage;
 
+    /**
+     * Threads to compile files in parallel.
+     */
+    private final Threads threads;
+
     /**
      * Constructor.
      * @param xmirs Path to the generated XMIRs by opeo-maven-plugin.
@@ -62,7 +68,17 @@ public class DefaultCompiler implements Compiler {
      * @param storage The storage where the XMIRs are stored.
      */
     private DefaultCompiler(final Storage storage) {
+        this(storage, new Threads());
+    }
+
+    /**
+     * Constructor.
+     * @param storage The storage where the XMIRs are stored.
+     * @param threads Threads to compile files in parallel.
+     */
+    public DefaultCompiler(final Storage storage, final Threads threads) {
         this.storage = storage;
+        this.threads = threads;
     }
 
     /**
@@ -72,10 +88,7 @@ public class DefaultCompiler implements Compiler {
         Logger.info(
             this,
             "Compiled %d sources",
-            this.storage.all()
-                .parallel()
-                .mapToInt(this::compile)
-                .sum()
+            this.threads.total(this.storage.all(), this::compile)
         );
     }
 
@@ -24,7 +24,6 @@
 package org.eolang.opeo.compilation;
 
 import com.jcabi.xml.XML;
-import org.eolang.jeo.representation.xmir.AllLabels;
 import org.eolang.jeo.representation.xmir.XmlClass;
 import org.eolang.jeo.representation.xmir.XmlMethod;
 import org.eolang.jeo.representation.xmir.XmlNode;
@@ -80,10 +79,6 @@ public final class JeoCompiler {
      *  The method {@link #compile} is catching generic exceptions which is bad.
      *  We should refactor it to simplify the code and remove duplicated catch blocks.
      *  After, don't forget to remove the Checkstyle and PMD tags.
-     * @todo #229:90min Optimize Labels Generation.
-     *  Here we clean the cache of labels before compiling a method. This is a workaround
-     *  to avoid a bug in the generation of labels. When we have lot's of methods, the cache grows
-     *  and the compilation time increases significantly.
      * @todo #229:90min Calculate the Max Stack Size.
      *  We should calculate the max stack size of the method and set it into the compiled method.
      *  To enforce jeo to calculate the max stack size, we use 'withoutMaxs()' method.
@@ -99,7 +94,6 @@ public final class JeoCompiler {
     private static XmlMethod compile(final XmlMethod method, final String pckg) {
         try {
             final XmlMethod result;
-            new AllLabels().clearCache();
             if (pckg.contains("org.eolang")) {
                 result = method.withoutMaxs().withInstructions(
                     new XmirParser(method.nodes()).toJeoNodes().toArray(new XmlNode[0])
@@ -0,0 +1,233 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.compilation;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.eolang.jeo.representation.xmir.XmlNode;
+import org.eolang.opeo.ast.Addition;
+import org.eolang.opeo.ast.ArrayConstructor;
+import org.eolang.opeo.ast.AstNode;
+import org.eolang.opeo.ast.Attributes;
+import org.eolang.opeo.ast.Cast;
+import org.eolang.opeo.ast.CheckCast;
+import org.eolang.opeo.ast.ClassField;
+import org.eolang.opeo.ast.ClassName;
+import org.eolang.opeo.ast.Const;
+import org.eolang.opeo.ast.Constructor;
+import org.eolang.opeo.ast.DynamicInvocation;
+import org.eolang.opeo.ast.FieldAssignment;
+import org.eolang.opeo.ast.FieldRetrieval;
+import org.eolang.opeo.ast.If;
+import org.eolang.opeo.ast.InterfaceInvocation;
+import org.eolang.opeo.ast.Invocation;
+import org.eolang.opeo.ast.Label;
+import org.eolang.opeo.ast.Labeled;
+import org.eolang.opeo.ast.LocalVariable;
+import org.eolang.opeo.ast.Multiplication;
+import org.eolang.opeo.ast.NewAddress;
+import org.eolang.opeo.ast.Opcode;
+import org.eolang.opeo.ast.Popped;
+import org.eolang.opeo.ast.RawXml;
+import org.eolang.opeo.ast.Return;
+import org.eolang.opeo.ast.StaticInvocation;
+import org.eolang.opeo.ast.StoreArray;
+import org.eolang.opeo.ast.Substraction;
+import org.eolang.opeo.ast.Super;
+import org.eolang.opeo.ast.This;
+import org.eolang.opeo.ast.VariableAssignment;
+
+/**
+ * Registry of XMIR node kinds.
+ * Most of the kinds are found by the exact 'base' attribute with a single hash lookup.
+ * The rest are found by a short list of 'base' prefixes, which are checked in the order
+ * of registration. Use {@link #with(String, NodeKind)} and
+ * {@link #withPrefix(String, NodeKind)} to add new kinds without changing the parser.
+ * @since 0.5
+ * @checkstyle ClassFanOutComplexityCheck (500 lines)
+ */
+public final class NodeKinds {
+
+    /**
+     * Kinds of method invocations by the 'type' attribute.
+     */
+    private static final Map<String, NodeKind> INVOCATIONS = NodeKinds.invocations();
+
+    /**
+     * Kinds by the exact 'base' attribute.
+     */
+    private final Map<String, NodeKind> exact;
+
+    /**
+     * Kinds by the 'base' attribute prefix.
+     */
+    private final Map<String, NodeKind> prefixed;
+
+    /**
+     * Constructor.
+     * Registers all the node kinds that opeo knows about.
+     */
+    public NodeKinds() {
+        this(NodeKinds.known(), NodeKinds.prefixes());
+    }
+
+    /**
+     * Constructor.
+     * @param exact Kinds by the exact 'base' attribute.
+     * @param prefixed Kinds by the 'base' attribute prefix.
+     */
+    public NodeKinds(final Map<String, NodeKind> exact, final Map<String, NodeKind> prefixed) {
+        this.exact = exact;
+        this.prefixed = prefixed;
+    }
+
+    /**
+     * Register a kind for the exact 'base' attribute.
+     * @param base The 'base' attribute.
+     * @param kind Node kind.
+     * @return New registry with the kind.
+     */
+    public NodeKinds with(final String base, final NodeKind kind) {
+        final Map<String, NodeKind> all = new HashMap<>(this.exact);
+        all.put(base, kind);
+        return new NodeKinds(all, this.prefixed);
+    }
+
+    /**
+     * Register a kind for the 'base' attribute prefix.
+     * New prefixes are checked before the ones that were registered earlier.
+     * @param prefix The 'base' attribute prefix.
+     * @param kind Node kind.
+     * @return New registry with the kind.
+     */
+    public NodeKinds withPrefix(final String prefix, final NodeKind kind) {
+        final Map<String, NodeKind> all = new LinkedHashMap<>(this.prefixed.size() + 1);
+        all.put(prefix, kind);
+        this.prefixed.forEach(all::putIfAbsent);
+        return new NodeKinds(this.exact, all);
+    }
+
+    /**
+     * Find the kind of node by its 'base' attribute.
+     * @param base The 'base' attribute.
+     * @return Node kind if any.
+     */
+    public Optional<NodeKind> find(final String base) {
+        Optional<NodeKind> result = Optional.ofNullable(this.exact.get(base));
+        if (!result.isPresent()) {
+            result = this.prefixed.entrySet()
+                .stream()
+                .filter(entry -> base.startsWith(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst();
+        }
+        return result;
+    }
+
+    /**
+     * Kinds of nodes by the exact 'base' attribute.
+     * @return Kinds.
+     */
+    private static Map<String, NodeKind> known() {
+        final Map<String, NodeKind> all = new HashMap<>(64);
+        all.put(".ignore-result", (node, parser) -> new Popped(parser.parse(node.firstChild())));
+        all.put("labeled", (node, parser) -> new Labeled(node, parser::parse));
+        all.put("times", (node, parser) -> new Multiplication(node, parser::parse));
+        all.put(".if", (node, parser) -> new If(node, parser::parse));
+        all.put(".new-type", (node, parser) -> new NewAddress(node));
+        all.put(".plus", (node, parser) -> new Addition(node, parser::parse));
+        all.put(".minus", (node, parser) -> new Substraction(node, parser::parse));
+        all.put("cast", (node, parser) -> new Cast(node, parser::parse));
+        all.put("frame", (node, parser) -> new RawXml(node));
+        all.put("opcode", (node, parser) -> new Opcode(node));
+        all.put("label", (node, parser) -> new Label(node));
+        all.put("float", (node, parser) -> new Const(node));
+        all.put("int", (node, parser) -> new Const(node));
+        all.put("string", (node, parser) -> new Const(node));
+        all.put("double", (node, parser) -> new Const(node));
+        all.put("long", (node, parser) -> new Const(node));
+        all.put("type", (node, parser) -> new ClassName(node));
+        all.put(".super", Super::new);
+        all.put("$", (node, parser) -> new This(node));
+        all.put("static-field", (node, parser) -> new ClassField(node));
+        all.put(".write-array", StoreArray::new);
+        all.put(".write-local-var", VariableAssignment::new);
+        all.put(".get-field", FieldRetrieval::new);
+        all.put(".write-field", FieldAssignment::new);
+        all.put(".new", Constructor::new);
+        all.put(".array-node", ArrayConstructor::new);
+        all.put("return", Return::new);
+        all.put("checkcast", CheckCast::new);
+        return all;
+    }
+
+    /**
+     * Kinds of nodes by the 'base' attribute prefix.
+     * Method invocations go last, since any unknown 'base' that starts with a dot
+     * is an invocation.
+     * @return Kinds.
+     */
+    private static Map<String, NodeKind> prefixes() {
+        final Map<String, NodeKind> all = new LinkedHashMap<>(4);
+        all.put("const-", (node, parser) -> new Const(node));
+        all.put("local-", (node, parser) -> new LocalVariable(node));
+        all.put(".", NodeKinds::invocation);
+        return all;
+    }
+
+    /**
+     * Kinds of method invocations by the 'type' attribute.
+     * @return Kinds.
+     */
+    private static Map<String, NodeKind> invocations() {
+        final Map<String, NodeKind> all = new HashMap<>(4);
+        all.put("static", StaticInvocation::new);
+        all.put("interface", InterfaceInvocation::new);
+        all.put("dynamic", DynamicInvocation::new);
+        return all;
+    }
+
+    /**
+     * Parse method invocation.
+     * Only the second child is needed to find out the kind of invocation,
+     * so we don't collect all the children.
+     * @param node XML node.
+     * @param parser Parser for child nodes.
+     * @return Invocation node.
+     */
+    private static AstNode invocation(final XmlNode node, final Parser parser) {
+        final Attributes attributes = new Attributes(
+            node.children().skip(1).findFirst().orElseThrow(
+                () -> new IllegalArgumentException(
+                    String.format("Can't find attributes of the invocation: %n%s%n", node)
+                )
+            )
+        );
+        return NodeKinds.INVOCATIONS
+            .getOrDefault(attributes.type(), Invocation::new)
+            .parse(node, parser);
+    }
+}
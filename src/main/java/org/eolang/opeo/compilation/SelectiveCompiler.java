@@ -25,12 +25,13 @@ package org.eolang.opeo.compilation;
 
 import com.jcabi.log.Logger;
 import java.nio.file.Path;
-import java.util.Arrays;
-import java.util.stream.Collectors;
+import org.eolang.opeo.Threads;
 import org.eolang.opeo.decompilation.agents.AllAgents;
 import org.eolang.opeo.storage.CompilationStorage;
+import org.eolang.opeo.storage.OpcodeSet;
 import org.eolang.opeo.storage.Storage;
 import org.eolang.opeo.storage.XmirEntry;
+import org.eolang.opeo.storage.XmirSummary;
 
 /**
  * Selective compiler.
@@ -48,7 +49,12 @@ public final class SelectiveCompiler implements Compiler {
     /**
      * Supported opcodes.
      */
-    private final String[] supported;
+    private final OpcodeSet supported;
+
+    /**
+     * Threads to compile files in parallel.
+     */
+    private final Threads threads;
 
     /**
      * Constructor.
@@ -64,8 +70,18 @@ public final class SelectiveCompiler implements Compiler {
      * @param storage Storage.
      */
     public SelectiveCompiler(final Storage storage) {
+        this(storage, new Threads());
+    }
+
+    /**
+     * Constructor.
+     * @param storage Storage.
+     * @param threads Threads to compile files in parallel.
+     */
+    public SelectiveCompiler(final Storage storage, final Threads threads) {
         this.storage = storage;
-        this.supported = new AllAgents().supportedOpcodes();
+        this.threads = threads;
+        this.supported = new OpcodeSet(new AllAgents().supportedOpcodes());
     }
 
     @Override
@@ -73,10 +89,7 @@ public final class SelectiveCompiler implements Compiler {
         Logger.info(
             this,
             "Compiled %d sources",
-            this.storage.all()
-                .parallel()
-                .mapToInt(this::compile)
-                .sum()
+            this.threads.total(this.storage.all(), this::compile)
         );
     }
 
@@ -87,9 +100,8 @@ public final class SelectiveCompiler implements Compiler {
      */
     private int compile(final XmirEntry entry) {
         final XmirEntry res;
-        if (entry.xpath(this.unsupportedOpcodes()).isEmpty()
-            || entry.xpath(SelectiveCompiler.trycatches())
-            .isEmpty()) {
+        final XmirSummary summary = entry.summary();
+        if (summary.supported(this.supported) || summary.guarded().isEmpty()) {
             res = entry.transform(xml -> new JeoCompiler(xml).compile());
         } else {
             Logger.info(
@@ -102,23 +114,4 @@ public final class SelectiveCompiler implements Compiler {
         this.storage.save(res);
         return 1;
     }
-
-    /**
-     * Xpath to find all opcodes that are not supported.
-     * @return Xpath.
-     */
-    private String unsupportedOpcodes() {
-        return String.format(
-            "//o[@base='opcode'][not(contains('%s', substring-before(concat(@name, '-'), '-'))) ]/@name",
-            Arrays.stream(this.supported).collect(Collectors.joining(" "))
-        );
-    }
-
-    /**
-     * Xpath to find all try-catch blocks.
-     * @return Xpath.
-     */
-    private static String trycatches() {
-        return "//o[@base='tuple' and @name='trycatchblocks']/@name";
-    }
 }
@@ -25,9 +25,7 @@ package org.eolang.opeo.decompilation;
 
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.Map;
-import java.util.stream.Collectors;
 import org.cactoos.list.ListOf;
 import org.eolang.opeo.Instruction;
 import org.eolang.opeo.ast.Opcode;
@@ -91,9 +89,7 @@ public final class DecompilerMachine {
      */
     public Iterable<Directive> decompile(final Instruction... instructions) {
         final DecompilerState initial = new DecompilerState(
-            Arrays.stream(instructions)
-                .map(Opcode::new)
-                .collect(Collectors.toCollection(LinkedList::new)),
+            Arrays.stream(instructions).map(Opcode::new).toArray(Opcode[]::new),
             new OperandStack(),
             this.locals
         );
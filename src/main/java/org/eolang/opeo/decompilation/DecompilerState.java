@@ -23,8 +23,9 @@
  */
 package org.eolang.opeo.decompilation;
 
+import java.util.Arrays;
 import java.util.Deque;
-import java.util.LinkedList;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -42,11 +43,17 @@ import org.objectweb.asm.Type;
 public final class DecompilerState {
 
     /**
-     * Remaining opcodes.
+     * All method opcodes.
      * Each method has an original list of opcodes which we decompile.
-     * When some agent decompiles an instruction, it removes it from this list.
+     * When some agent decompiles an instruction, it moves the cursor forward.
      */
-    private final Deque<Opcode> opcodes;
+    private final Opcode[] opcodes;
+
+    /**
+     * Cursor that points to the current opcode.
+     * All the opcodes before the cursor are already decompiled.
+     */
+    private int cursor;
 
     /**
      * Current operand stack.
@@ -88,7 +95,7 @@ public final class DecompilerState {
      * @param vars Method local variables.
      */
     public DecompilerState(final OperandStack operands, final LocalVariables vars) {
-        this(new LinkedList<>(), operands, vars);
+        this(new Opcode[0], operands, vars);
     }
 
     /**
@@ -101,8 +108,23 @@ public final class DecompilerState {
         final Deque<Opcode> opcodes,
         final OperandStack stack,
         final LocalVariables vars
+    ) {
+        this(opcodes.toArray(new Opcode[0]), stack, vars);
+    }
+
+    /**
+     * Constructor.
+     * @param opcodes All method opcodes.
+     * @param stack Operand stack.
+     * @param vars Method local variables.
+     */
+    public DecompilerState(
+        final Opcode[] opcodes,
+        final OperandStack stack,
+        final LocalVariables vars
     ) {
         this.opcodes = opcodes;
+        this.cursor = 0;
         this.ostack = stack;
         this.vars = vars;
     }
@@ -112,10 +134,10 @@ public final class DecompilerState {
      * @return Current bytecode instruction.
      */
     public Opcode current() {
-        if (this.opcodes.isEmpty()) {
+        if (!this.hasInstructions()) {
             throw new IllegalStateException("No instructions left");
         }
-        return this.opcodes.peek();
+        return this.opcodes[this.cursor];
     }
 
     /**
@@ -123,7 +145,7 @@ public final class DecompilerState {
      * @return True if there are instructions left.
      */
     public boolean hasInstructions() {
-        return !this.opcodes.isEmpty();
+        return this.cursor < this.opcodes.length;
     }
 
     /**
@@ -131,11 +153,31 @@ public final class DecompilerState {
      * This is used when we decompile an instruction.
      */
     public void popInstruction() {
-        if (!this.opcodes.isEmpty()) {
-            this.opcodes.pop();
+        if (this.hasInstructions()) {
+            this.cursor += 1;
         }
     }
 
+    /**
+     * Look at the instruction ahead of the current one.
+     * Doesn't move the cursor.
+     * @param offset How far from the current instruction, 0 means the current one.
+     * @return Instruction or empty if it is out of the method bounds.
+     */
+    public Optional<Opcode> ahead(final int offset) {
+        return this.at(this.cursor + offset);
+    }
+
+    /**
+     * Look at the already decompiled instruction behind the current one.
+     * Doesn't move the cursor.
+     * @param offset How far from the current instruction, 1 means the previous one.
+     * @return Instruction or empty if it is out of the method bounds.
+     */
+    public Optional<Opcode> behind(final int offset) {
+        return this.at(this.cursor - offset);
+    }
+
     /**
      * Instruction operand.
      * @param index Operand index.
@@ -168,6 +210,23 @@ public final class DecompilerState {
      * @return Pretty opcodes string
      */
     public String prettyOpcodes() {
-        return this.opcodes.stream().map(Opcode::pretty).collect(Collectors.joining(" "));
+        return Arrays.stream(this.opcodes, this.cursor, this.opcodes.length)
+            .map(Opcode::pretty)
+            .collect(Collectors.joining(" "));
+    }
+
+    /**
+     * Instruction at the absolute position.
+     * @param position Position in the method.
+     * @return Instruction or empty if it is out of the method bounds.
+     */
+    private Optional<Opcode> at(final int position) {
+        final Optional<Opcode> result;
+        if (position >= 0 && position < this.opcodes.length) {
+            result = Optional.of(this.opcodes[position]);
+        } else {
+            result = Optional.empty();
+        }
+        return result;
     }
 }
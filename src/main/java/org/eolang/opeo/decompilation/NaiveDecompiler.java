@@ -25,6 +25,8 @@ package org.eolang.opeo.decompilation;
 
 import com.jcabi.log.Logger;
 import java.nio.file.Path;
+import org.eolang.opeo.Pipeline;
+import org.eolang.opeo.Threads;
 import org.eolang.opeo.jeo.JeoDecompiler;
 import org.eolang.opeo.storage.DecompilationStorage;
 import org.eolang.opeo.storage.Storage;
@@ -48,6 +50,11 @@ public final class NaiveDecompiler implements Decompiler {
      */
     private final Storage storage;
 
+    /**
+     * Pipeline that reads, decompiles and saves files.
+     */
+    private final Pipeline pipeline;
+
     /**
      * Constructor.
      * @param xmirs Path to the generated XMIRs by jeo-maven-plugin.
@@ -72,8 +79,27 @@ public final class NaiveDecompiler implements Decompiler {
      * Constructor.
      * @param storage The storage where the XMIRs are stored.
      */
-    private NaiveDecompiler(final Storage storage) {
+    public NaiveDecompiler(final Storage storage) {
+        this(storage, new Threads());
+    }
+
+    /**
+     * Constructor.
+     * @param storage The storage where the XMIRs are stored.
+     * @param threads Threads to decompile files in parallel.
+     */
+    public NaiveDecompiler(final Storage storage, final Threads threads) {
+        this(storage, new Pipeline(threads));
+    }
+
+    /**
+     * Constructor.
+     * @param storage The storage where the XMIRs are stored.
+     * @param pipeline Pipeline that reads, decompiles and saves files.
+     */
+    public NaiveDecompiler(final Storage storage, final Pipeline pipeline) {
         this.storage = new WithoutAliasesStorage(storage);
+        this.pipeline = pipeline;
     }
 
     @Override
@@ -81,22 +107,17 @@ public final class NaiveDecompiler implements Decompiler {
         Logger.info(
             this,
             "Decompiled %d EO sources",
-            this.storage.all()
-                .parallel()
-                .mapToInt(this::decompile).sum()
+            this.pipeline.run(this.storage.all(), NaiveDecompiler::decompile, this.storage::save)
         );
     }
 
     /**
      * Decompile the entry.
      * @param entry The entry to decompile.
-     * @return Number of decompiled EO sources.
+     * @return Decompiled entry.
      */
-    private int decompile(final XmirEntry entry) {
-        this.storage.save(
-            entry.transform(xml -> new JeoDecompiler(xml, entry.relative()).decompile())
-        );
-        return 1;
+    private static XmirEntry decompile(final XmirEntry entry) {
+        return entry.transform(xml -> new JeoDecompiler(xml, entry.relative()).decompile());
     }
 
 }
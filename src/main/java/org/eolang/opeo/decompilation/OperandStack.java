@@ -136,6 +136,14 @@ public final class OperandStack {
         this.stack.push(this.stack.peek());
     }
 
+    /**
+     * Number of nodes in the stack.
+     * @return Stack depth.
+     */
+    public int size() {
+        return this.stack.size();
+    }
+
     /**
      * Pretty representation of the stack.
      * @return Human-readable string that represents the stack state.
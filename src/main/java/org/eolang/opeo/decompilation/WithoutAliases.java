@@ -25,17 +25,32 @@ package org.eolang.opeo.decompilation;
 
 import com.jcabi.xml.XML;
 import com.jcabi.xml.XMLDocument;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import org.xembly.Directives;
-import org.xembly.Xembler;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
 
 /**
  * XMIR representation without aliases.
+ * Removes the 'org.eolang.jeo.label' and 'org.eolang.jeo.opcode' aliases
+ * if the program doesn't use labels or opcodes respectively.
+ * The document is walked only once and the walk stops as soon as it's clear
+ * that both aliases are used.
  * @since 0.4
  */
 public final class WithoutAliases {
 
+    /**
+     * Objects which aliases we remove if they are unused.
+     */
+    private static final String[] OBJECTS = {"label", "opcode"};
+
     /**
      * Xmir with aliases.
      */
@@ -54,33 +69,72 @@ public final class WithoutAliases {
      * @return Xmir without aliases.
      */
     public XML toXml() {
-        return new XMLDocument(
-            new Xembler(
-                new Directives()
-                    .xpath(
-                        String.format(
-                            "./program/metas/meta[head='alias' and contains(%s,tail)]",
-                            Stream.of(this.alias("label"), this.alias("opcode"))
-                                .filter(alias -> !alias.isEmpty())
-                                .collect(Collectors.joining(", ", "'", "'"))
-                        )
-                    )
-                    .remove()
-            ).applyQuietly(this.original.node())
-        );
+        final Node root = this.original.node();
+        final Set<String> used = new HashSet<>(WithoutAliases.OBJECTS.length);
+        final List<Element> aliases = new ArrayList<>(WithoutAliases.OBJECTS.length);
+        final Deque<Node> nodes = new ArrayDeque<>(0);
+        nodes.push(root);
+        while (!nodes.isEmpty() && used.size() < WithoutAliases.OBJECTS.length) {
+            final Node node = nodes.pop();
+            if (node.getNodeType() == Node.ELEMENT_NODE) {
+                final Element element = (Element) node;
+                if ("o".equals(element.getNodeName())) {
+                    final String base = element.getAttribute("base");
+                    if (Arrays.asList(WithoutAliases.OBJECTS).contains(base)) {
+                        used.add(base);
+                    }
+                } else if (WithoutAliases.isAlias(element)) {
+                    aliases.add(element);
+                }
+            }
+            final NodeList children = node.getChildNodes();
+            for (int idx = children.getLength() - 1; idx >= 0; --idx) {
+                nodes.push(children.item(idx));
+            }
+        }
+        for (final Element alias : aliases) {
+            final String tail = WithoutAliases.child(alias, "tail");
+            for (final String object : WithoutAliases.OBJECTS) {
+                if (!used.contains(object)
+                    && String.format("org.eolang.jeo.%s", object).equals(tail)) {
+                    alias.getParentNode().removeChild(alias);
+                }
+            }
+        }
+        return new XMLDocument(root);
+    }
+
+    /**
+     * Whether the element is an alias meta of the program.
+     * @param element Element.
+     * @return True if it's '/program/metas/meta' with 'alias' head.
+     */
+    private static boolean isAlias(final Element element) {
+        final Node parent = element.getParentNode();
+        return "meta".equals(element.getNodeName())
+            && parent != null
+            && "metas".equals(parent.getNodeName())
+            && parent.getParentNode() != null
+            && "program".equals(parent.getParentNode().getNodeName())
+            && "alias".equals(WithoutAliases.child(element, "head"));
     }
 
     /**
-     * Alias for an object.
-     * @param object Object.
-     * @return Alias.
+     * Text of the child element.
+     * @param element Element.
+     * @param name Child name.
+     * @return Text or empty string if there is no such child.
      */
-    private String alias(final String object) {
-        final String result;
-        if (this.original.xpath(String.format(".//o[@base='%s']/@base", object)).isEmpty()) {
-            result = String.format("org.eolang.jeo.%s", object);
-        } else {
-            result = "";
+    private static String child(final Element element, final String name) {
+        final NodeList children = element.getChildNodes();
+        String result = "";
+        boolean found = false;
+        for (int idx = 0; !found && idx < children.getLength(); ++idx) {
+            final Node node = children.item(idx);
+            if (name.equals(node.getNodeName())) {
+                result = node.getTextContent().trim();
+                found = true;
+            }
         }
         return result;
     }
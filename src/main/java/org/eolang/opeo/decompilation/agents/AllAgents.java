@@ -24,8 +24,8 @@
 package org.eolang.opeo.decompilation.agents;
 
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.eolang.opeo.decompilation.DecompilerState;
 
 /**
@@ -42,9 +42,20 @@ import org.eolang.opeo.decompilation.DecompilerState;
 public final class AllAgents implements DecompilationAgent {
 
     /**
-     * ALl instruction handlers.
+     * Instruction handlers indexed by opcode.
+     * Opcodes without a dedicated handler have {@code null} here.
      */
-    private final Set<? extends DecompilationAgent> agents;
+    private final DecompilationAgent[] table;
+
+    /**
+     * Handler for all the opcodes that are absent in the table.
+     */
+    private final DecompilationAgent fallback;
+
+    /**
+     * All opcodes supported by the table handlers.
+     */
+    private final Supported all;
 
     /**
      * Constructor.
@@ -60,66 +71,111 @@ public final class AllAgents implements DecompilationAgent {
      */
     public AllAgents(final boolean counting, final TracedAgent.Output output) {
         this(
-            new HashSet<>(
-                Arrays.asList(
-                    new TracedAgent(new ConstAgent(), output),
-                    new TracedAgent(new AddAgent(), output),
-                    new TracedAgent(new SubAgent(), output),
-                    new TracedAgent(new MulAgent(), output),
-                    new TracedAgent(new IfAgent(), output),
-                    new TracedAgent(new CastAgent(), output),
-                    new TracedAgent(new LoadAgent(), output),
-                    new TracedAgent(new StoreAgent(), output),
-                    new TracedAgent(new StoreToArrayAgent(), output),
-                    new TracedAgent(new NewArrayAgent(), output),
-                    new TracedAgent(new CheckCastAgent(), output),
-                    new TracedAgent(new NewAgent(), output),
-                    new TracedAgent(new DupAgent(), output),
-                    new TracedAgent(new BipushAgent(), output),
-                    new TracedAgent(new InvokespecialAgent(), output),
-                    new TracedAgent(new InvokevirtualAgent(), output),
-                    new TracedAgent(new InvokestaticAgent(), output),
-                    new TracedAgent(new InvokeinterfaceAgent(), output),
-                    new TracedAgent(new InvokedynamicAgent(), output),
-                    new TracedAgent(new GetFieldAgent(), output),
-                    new TracedAgent(new PutFieldAgent(), output),
-                    new TracedAgent(new GetStaticAgent(), output),
-                    new TracedAgent(new LdcAgent(), output),
-                    new TracedAgent(new PopAgent(), output),
-                    new TracedAgent(new ReturnAgent(), output),
-                    new TracedAgent(new LabelAgent(), output),
-                    new TracedAgent(new UnimplementedAgent(counting), output)
-                )
-            )
+            Arrays.asList(
+                new TracedAgent(new ConstAgent(), output),
+                new TracedAgent(new AddAgent(), output),
+                new TracedAgent(new SubAgent(), output),
+                new TracedAgent(new MulAgent(), output),
+                new TracedAgent(new IfAgent(), output),
+                new TracedAgent(new CastAgent(), output),
+                new TracedAgent(new LoadAgent(), output),
+                new TracedAgent(new StoreAgent(), output),
+                new TracedAgent(new StoreToArrayAgent(), output),
+                new TracedAgent(new NewArrayAgent(), output),
+                new TracedAgent(new CheckCastAgent(), output),
+                new TracedAgent(new NewAgent(), output),
+                new TracedAgent(new DupAgent(), output),
+                new TracedAgent(new BipushAgent(), output),
+                new TracedAgent(new InvokespecialAgent(), output),
+                new TracedAgent(new InvokevirtualAgent(), output),
+                new TracedAgent(new InvokestaticAgent(), output),
+                new TracedAgent(new InvokeinterfaceAgent(), output),
+                new TracedAgent(new InvokedynamicAgent(), output),
+                new TracedAgent(new GetFieldAgent(), output),
+                new TracedAgent(new PutFieldAgent(), output),
+                new TracedAgent(new GetStaticAgent(), output),
+                new TracedAgent(new LdcAgent(), output),
+                new TracedAgent(new PopAgent(), output),
+                new TracedAgent(new ReturnAgent(), output),
+                new TracedAgent(new LabelAgent(), output)
+            ),
+            counting,
+            output
+        );
+    }
+
+    /**
+     * Constructor.
+     * @param agents Handlers with their own sets of supported opcodes.
+     * @param counting Do we put numbers to opcodes?
+     * @param output Where do we save output logs?
+     */
+    private AllAgents(
+        final List<? extends DecompilationAgent> agents,
+        final boolean counting,
+        final TracedAgent.Output output
+    ) {
+        this(
+            agents,
+            agents.stream()
+                .map(DecompilationAgent::supported)
+                .reduce(new Supported(), Supported::merge),
+            counting,
+            output
+        );
+    }
+
+    /**
+     * Constructor.
+     * @param agents Handlers with their own sets of supported opcodes.
+     * @param all All opcodes supported by the handlers.
+     * @param counting Do we put numbers to opcodes?
+     * @param output Where do we save output logs?
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private AllAgents(
+        final List<? extends DecompilationAgent> agents,
+        final Supported all,
+        final boolean counting,
+        final TracedAgent.Output output
+    ) {
+        this(
+            AllAgents.table(agents),
+            new TracedAgent(new UnimplementedAgent(counting, all), output),
+            all
         );
     }
 
     /**
      * Constructor.
-     * @param agents All handlers that will try to handle incoming instructions.
+     * @param table Handlers indexed by opcode.
+     * @param fallback Handler for opcodes without a dedicated handler.
+     * @param all All opcodes supported by the table handlers.
      */
-    private AllAgents(final Set<? extends DecompilationAgent> agents) {
-        this.agents = agents;
+    private AllAgents(
+        final DecompilationAgent[] table,
+        final DecompilationAgent fallback,
+        final Supported all
+    ) {
+        this.table = table;
+        this.fallback = fallback;
+        this.all = all;
     }
 
     @Override
     public boolean appropriate(final DecompilerState state) {
-        return this.agents.stream().anyMatch(agent -> agent.appropriate(state));
+        return state.hasInstructions();
     }
 
     @Override
     public Supported supported() {
-        return this.agents.stream()
-            .map(DecompilationAgent::supported)
-            .reduce(new Supported(), Supported::merge);
+        return this.all;
     }
 
     @Override
     public void handle(final DecompilerState state) {
         while (this.appropriate(state)) {
-            this.agents.stream().filter(agent -> agent.appropriate(state))
-                .findFirst()
-                .ifPresent(agent -> agent.handle(state));
+            this.agent(state.current().opcode()).handle(state);
         }
     }
 
@@ -131,4 +187,45 @@ public final class AllAgents implements DecompilationAgent {
         return this.supported().names();
     }
 
+    /**
+     * Find the handler for the opcode.
+     * @param opcode Opcode number.
+     * @return Dedicated handler or fallback one.
+     */
+    private DecompilationAgent agent(final int opcode) {
+        final DecompilationAgent result;
+        if (opcode >= 0 && opcode < this.table.length && this.table[opcode] != null) {
+            result = this.table[opcode];
+        } else {
+            result = this.fallback;
+        }
+        return result;
+    }
+
+    /**
+     * Build the opcode table.
+     * If several handlers support the same opcode, the first one wins.
+     * @param agents Handlers with their own sets of supported opcodes.
+     * @return Handlers indexed by opcode.
+     */
+    private static DecompilationAgent[] table(final List<? extends DecompilationAgent> agents) {
+        final List<int[]> opcodes = agents.stream()
+            .map(DecompilationAgent::supported)
+            .map(Supported::opcodes)
+            .collect(Collectors.toList());
+        final int size = opcodes.stream()
+            .flatMapToInt(Arrays::stream)
+            .max()
+            .orElse(-1) + 1;
+        final DecompilationAgent[] result = new DecompilationAgent[size];
+        for (int idx = 0; idx < agents.size(); ++idx) {
+            for (final int opcode : opcodes.get(idx)) {
+                if (result[opcode] == null) {
+                    result[opcode] = agents.get(idx);
+                }
+            }
+        }
+        return result;
+    }
+
 }
@@ -25,9 +25,9 @@ package org.eolang.opeo.decompilation.agents;
 
 import org.eolang.opeo.ast.AstNode;
 import org.eolang.opeo.ast.If;
+import org.eolang.opeo.ast.Label;
 import org.eolang.opeo.decompilation.DecompilerState;
 import org.eolang.opeo.decompilation.OperandStack;
-import org.objectweb.asm.Label;
 import org.objectweb.asm.Opcodes;
 
 /**
@@ -64,7 +64,24 @@ final class Supported {
      * @return True if the instruction is supported, false otherwise.
      */
     boolean isSupported(final Opcode opcode) {
-        return this.all.contains(opcode.opcode());
+        return this.isSupported(opcode.opcode());
+    }
+
+    /**
+     * Check if the opcode is supported.
+     * @param opcode Opcode number to check.
+     * @return True if the opcode is supported, false otherwise.
+     */
+    boolean isSupported(final int opcode) {
+        return this.all.contains(opcode);
+    }
+
+    /**
+     * All supported opcode numbers.
+     * @return Opcode numbers.
+     */
+    int[] opcodes() {
+        return this.all.stream().mapToInt(Integer::intValue).toArray();
     }
 
     /**
@@ -31,11 +31,17 @@ import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.eolang.opeo.ast.OpcodeName;
 import org.eolang.opeo.decompilation.DecompilerState;
 
 /**
  * Agent that knows how to log additional information about a decompilation process.
- *
+ * <p>
+ *     Tracing costs nothing if the output is disabled: the agent just delegates
+ *     to the original one. Enabled outputs receive lightweight {@link Event}s.
+ *     Human-readable dumps of the stack and remaining instructions are built
+ *     only for verbose outputs, since they walk the entire state.
+ * </p>
  * @since 0.4
  */
 public final class TracedAgent implements DecompilationAgent {
@@ -81,36 +87,46 @@ public final class TracedAgent implements DecompilationAgent {
     @Override
     public void handle(final DecompilerState state) {
         if (this.appropriate(state)) {
-            final String name = this.original.getClass().getSimpleName();
-            this.output.register(this.original.getClass());
+            if (this.output.enabled()) {
+                this.traced(state);
+            } else {
+                this.original.handle(state);
+            }
+        }
+    }
+
+    /**
+     * Handle the state and trace it.
+     * @param state Current state.
+     */
+    private void traced(final DecompilerState state) {
+        final int opcode;
+        if (state.hasInstructions()) {
+            opcode = state.current().opcode();
+        } else {
+            opcode = -1;
+        }
+        final int before = state.stack().size();
+        final boolean verbose = this.output.verbose();
+        final String name = this.original.getClass().getSimpleName();
+        if (verbose) {
             this.output.write(
-                String.format(
-                    "Stack before %s: [%s]",
-                    name,
-                    state.stack().pretty()
-                )
+                String.format("Stack before %s: [%s]", name, state.stack().pretty())
             );
             this.output.write(
-                String.format(
-                    "Instructions before %s: [%s]",
-                    name,
-                    state.prettyOpcodes()
-                )
+                String.format("Instructions before %s: [%s]", name, state.prettyOpcodes())
             );
-            this.original.handle(state);
+        }
+        this.original.handle(state);
+        this.output.record(
+            new Event(this.original.getClass(), opcode, before, state.stack().size())
+        );
+        if (verbose) {
             this.output.write(
-                String.format(
-                    "Stack after %s: [%s]",
-                    name,
-                    state.stack().pretty()
-                )
+                String.format("Stack after %s: [%s]", name, state.stack().pretty())
             );
             this.output.write(
-                String.format(
-                    "Instructions after %s: [%s]",
-                    name,
-                    state.prettyOpcodes()
-                )
+                String.format("Instructions after %s: [%s]", name, state.prettyOpcodes())
             );
         }
     }
@@ -122,6 +138,19 @@ public final class TracedAgent implements DecompilationAgent {
      */
     public interface Output {
 
+        /**
+         * Does the output accept anything?
+         * If not, the traced agent doesn't prepare any trace data.
+         * @return True if the output is enabled.
+         */
+        boolean enabled();
+
+        /**
+         * Does the output need human-readable dumps of the decompilation state?
+         * @return True if {@link #write(String)} should be called.
+         */
+        boolean verbose();
+
         /**
          * Write a message.
          * @param message Message to write.
@@ -129,28 +158,186 @@ public final class TracedAgent implements DecompilationAgent {
         void write(String message);
 
         /**
-         * Register an agent that was used.
-         * @param agent Agent class used.
+         * Record an instruction handled by an agent.
+         * @param event Handled instruction.
          */
-        void register(Class<? extends DecompilationAgent> agent);
+        void record(Event event);
 
     }
 
+    /**
+     * Handled instruction.
+     * Lightweight structured trace record that is rendered only on demand.
+     * @since 0.4
+     */
+    public static final class Event {
+
+        /**
+         * Agent that handled the instruction.
+         */
+        private final Class<? extends DecompilationAgent> agent;
+
+        /**
+         * Opcode of the handled instruction or -1 if there were no instructions.
+         */
+        private final int opcode;
+
+        /**
+         * Stack depth before handling.
+         */
+        private final int before;
+
+        /**
+         * Stack depth after handling.
+         */
+        private final int after;
+
+        /**
+         * Constructor.
+         * @param agent Agent that handled the instruction.
+         * @param opcode Opcode of the handled instruction.
+         * @param before Stack depth before handling.
+         * @param after Stack depth after handling.
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        public Event(
+            final Class<? extends DecompilationAgent> agent,
+            final int opcode,
+            final int before,
+            final int after
+        ) {
+            this.agent = agent;
+            this.opcode = opcode;
+            this.before = before;
+            this.after = after;
+        }
+
+        /**
+         * Agent that handled the instruction.
+         * @return Agent class.
+         */
+        public Class<? extends DecompilationAgent> agent() {
+            return this.agent;
+        }
+
+        /**
+         * Opcode of the handled instruction.
+         * @return Opcode number or -1 if there were no instructions.
+         */
+        public int opcode() {
+            return this.opcode;
+        }
+
+        /**
+         * Stack depth before handling.
+         * @return Number of nodes.
+         */
+        public int before() {
+            return this.before;
+        }
+
+        /**
+         * Stack depth after handling.
+         * @return Number of nodes.
+         */
+        public int after() {
+            return this.after;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%s handled %s, stack depth %d -> %d",
+                this.agent.getSimpleName(),
+                new OpcodeName(this.opcode).simplified(),
+                this.before,
+                this.after
+            );
+        }
+    }
+
     /**
      * Log output.
      * Output target that logs messages using DEBUG level.
+     * It's disabled if DEBUG level is off.
      * @since 0.4
      */
     public static final class Log implements Output {
 
+        @Override
+        public boolean enabled() {
+            return Logger.isDebugEnabled(this);
+        }
+
+        @Override
+        public boolean verbose() {
+            return this.enabled();
+        }
+
         @Override
         public void write(final String message) {
             Logger.debug(this, message);
         }
 
         @Override
-        public void register(final Class<? extends DecompilationAgent> agent) {
-            Logger.debug(this, "Agent used: %s", agent.getSimpleName());
+        public void record(final Event event) {
+            Logger.debug(this, "Agent used: %s", event);
+        }
+    }
+
+    /**
+     * Events output.
+     * Output target that keeps only structured events without rendering the state.
+     * @since 0.4
+     */
+    public static final class Events implements Output {
+
+        /**
+         * Recorded events.
+         */
+        private final List<Event> all;
+
+        /**
+         * Default constructor.
+         */
+        public Events() {
+            this(new ArrayList<>(0));
+        }
+
+        /**
+         * Constructor.
+         * @param all Recorded events.
+         */
+        Events(final List<Event> all) {
+            this.all = all;
+        }
+
+        @Override
+        public boolean enabled() {
+            return true;
+        }
+
+        @Override
+        public boolean verbose() {
+            return false;
+        }
+
+        @Override
+        public void write(final String message) {
+            // Messages are ignored, since this output keeps structured events only.
+        }
+
+        @Override
+        public void record(final Event event) {
+            this.all.add(event);
+        }
+
+        /**
+         * Get all recorded events.
+         * @return Events in the order of handling.
+         */
+        public List<Event> events() {
+            return Collections.unmodifiableList(this.all);
         }
     }
 
@@ -164,12 +351,12 @@ public final class TracedAgent implements DecompilationAgent {
         /**
          * Message queue.
          */
-        private Deque<String> queue;
+        private final Deque<String> queue;
 
         /**
-         * Agents used.
+         * Recorded events.
          */
-        private List<Class<? extends DecompilationAgent>> agents;
+        private final Events events;
 
         /**
          * Default constructor.
@@ -184,7 +371,17 @@ public final class TracedAgent implements DecompilationAgent {
          */
         Container(final Deque<String> queue) {
             this.queue = queue;
-            this.agents = new ArrayList<>(0);
+            this.events = new Events();
+        }
+
+        @Override
+        public boolean enabled() {
+            return true;
+        }
+
+        @Override
+        public boolean verbose() {
+            return true;
         }
 
         @Override
@@ -193,8 +390,8 @@ public final class TracedAgent implements DecompilationAgent {
         }
 
         @Override
-        public void register(final Class<? extends DecompilationAgent> agent) {
-            this.agents.add(agent);
+        public void record(final Event event) {
+            this.events.record(event);
         }
 
         /**
@@ -210,7 +407,10 @@ public final class TracedAgent implements DecompilationAgent {
          * @return All agents used.
          */
         public List<String> agentsUsed() {
-            return this.agents.stream().map(Class::getSimpleName).collect(Collectors.toList());
+            return this.events.events().stream()
+                .map(Event::agent)
+                .map(Class::getSimpleName)
+                .collect(Collectors.toList());
         }
     }
 }
@@ -37,17 +37,24 @@ final class UnimplementedAgent implements DecompilationAgent {
      */
     private final boolean counting;
 
+    /**
+     * Opcodes that are handled by other agents.
+     */
+    private final Supported implemented;
+
     /**
      * Constructor.
      * @param counting Flag which decides if we need to count opcodes.
+     * @param implemented Opcodes that are handled by other agents.
      */
-    UnimplementedAgent(final boolean counting) {
+    UnimplementedAgent(final boolean counting, final Supported implemented) {
         this.counting = counting;
+        this.implemented = implemented;
     }
 
     @Override
     public boolean appropriate(final DecompilerState state) {
-        return state.hasInstructions() && !new AllAgents().supported().isSupported(state.current());
+        return state.hasInstructions() && !this.implemented.isSupported(state.current());
     }
 
     @Override
@@ -25,20 +25,33 @@ package org.eolang.opeo.jeo;
 
 import com.jcabi.xml.XML;
 import com.jcabi.xml.XMLDocument;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
 import org.eolang.jeo.representation.xmir.XmlMethod;
 import org.eolang.jeo.representation.xmir.XmlNode;
 import org.eolang.jeo.representation.xmir.XmlProgram;
+import org.eolang.opeo.Instruction;
+import org.eolang.opeo.LabelInstruction;
+import org.eolang.opeo.OpcodeInstruction;
+import org.eolang.opeo.ast.DomXmir;
 import org.eolang.opeo.decompilation.DecompilerMachine;
 import org.eolang.opeo.decompilation.LocalVariables;
 import org.objectweb.asm.Type;
 import org.w3c.dom.Node;
-import org.xembly.Transformers;
-import org.xembly.Xembler;
 
 /**
  * Decompiler that gets jeo instructions and decompiles them into high-level EO constructs.
  *
+ * <p>When it runs inside a {@link java.util.concurrent.ForkJoinPool}, each method
+ * becomes a separate task, so idle workers can steal methods of a huge class
+ * instead of waiting for it. The DOM is read and modified only by the calling thread:
+ * before a task is forked, its instructions are copied into plain values that
+ * don't refer to DOM nodes.</p>
+ *
  * @since 0.1
  */
 public final class JeoDecompiler {
@@ -53,6 +66,12 @@ public final class JeoDecompiler {
      */
     private final String pckg;
 
+    /**
+     * Source of method instructions.
+     * Receives the method index in the class and the method itself.
+     */
+    private final BiFunction<Integer, XmlMethod, Instruction[]> source;
+
     /**
      * Constructor.
      *
@@ -69,8 +88,24 @@ public final class JeoDecompiler {
      * @param pckg Program package.
      */
     public JeoDecompiler(final XML prog, final String pckg) {
+        this(prog, pckg, (index, method) -> new JeoInstructions(method).instructions());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param prog Program in XMIR format received from jeo maven plugin.
+     * @param pckg Program package.
+     * @param source Source of method instructions by method index and method.
+     */
+    public JeoDecompiler(
+        final XML prog,
+        final String pckg,
+        final BiFunction<Integer, XmlMethod, Instruction[]> source
+    ) {
         this.prog = prog;
         this.pckg = pckg;
+        this.source = source;
     }
 
     /**
@@ -83,41 +118,138 @@ public final class JeoDecompiler {
         final String descriptor = Type.getObjectType(
             this.pckg.replace(".xmir", "").replace(".", "/")
         ).getDescriptor();
-        new XmlProgram(node).top().methods()
-            .forEach(method -> this.decompile(method, descriptor));
+        final List<XmlMethod> methods = new XmlProgram(node).top().methods();
+        final List<XmlMethod> targets = new ArrayList<>(methods.size());
+        final List<ForkJoinTask<XmlNode[]>> tasks = new ArrayList<>(methods.size());
+        for (int index = 0; index < methods.size(); ++index) {
+            final XmlMethod method = methods.get(index);
+            final Instruction[] instructions = this.instructions(method, index);
+            if (instructions.length > 0) {
+                targets.add(method);
+                tasks.add(this.task(method, instructions, descriptor));
+            }
+        }
+        final boolean parallel = ForkJoinTask.inForkJoinPool();
+        if (parallel) {
+            tasks.forEach(ForkJoinTask::fork);
+        }
+        for (int index = 0; index < targets.size(); ++index) {
+            this.replace(targets.get(index), tasks.get(index), parallel);
+        }
         return new XMLDocument(node);
     }
 
     /**
-     * Decompile method.
+     * Read method instructions.
+     * The instructions are read in the calling thread and copied into plain values,
+     * so tasks never touch DOM nodes that might be modified meanwhile.
+     *
+     * @param method Method.
+     * @param index Method index in the class.
+     * @return Instructions that don't refer to DOM nodes.
+     */
+    private Instruction[] instructions(final XmlMethod method, final int index) {
+        try {
+            return JeoDecompiler.detached(this.source.apply(index, method));
+        } catch (final ClassCastException | IllegalStateException exception) {
+            throw this.failure(method, exception);
+        }
+    }
+
+    /**
+     * Prepare decompilation task for a method.
      *
      * @param method Method.
+     * @param instructions Method instructions.
      * @param clazz Class name.
+     * @return Task that decompiles the method into XMIR nodes.
      */
-    private void decompile(final XmlMethod method, final String clazz) {
+    private ForkJoinTask<XmlNode[]> task(
+        final XmlMethod method, final Instruction[] instructions, final String clazz
+    ) {
+        final LocalVariables locals = new LocalVariables(
+            method.access(), method.descriptor(), clazz
+        );
+        return ForkJoinTask.adapt(
+            () -> new DomXmir(
+                new DecompilerMachine(
+                    locals,
+                    Collections.singletonMap("counting", "true")
+                ).decompile(instructions)
+            ).children().toArray(XmlNode[]::new)
+        );
+    }
+
+    /**
+     * Copy instructions into plain values.
+     * Jeo instructions read their opcode and operands from DOM nodes lazily,
+     * here we read them all at once.
+     *
+     * @param instructions Instructions.
+     * @return Instructions that don't refer to DOM nodes.
+     */
+    private static Instruction[] detached(final Instruction... instructions) {
+        return Arrays.stream(instructions)
+            .map(JeoDecompiler::detached)
+            .toArray(Instruction[]::new);
+    }
+
+    /**
+     * Copy instruction into plain value.
+     *
+     * @param instruction Instruction.
+     * @return Instruction that doesn't refer to DOM nodes.
+     */
+    private static Instruction detached(final Instruction instruction) {
+        final Instruction result;
+        if (instruction instanceof LabelInstruction || instruction instanceof OpcodeInstruction) {
+            result = instruction;
+        } else {
+            result = new OpcodeInstruction(
+                instruction.opcode(), instruction.operands().toArray()
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Replace method instructions with the result of the task.
+     *
+     * @param method Method.
+     * @param task Decompilation task of the method.
+     * @param forked Whether the task was forked.
+     */
+    private void replace(
+        final XmlMethod method, final ForkJoinTask<XmlNode[]> task, final boolean forked
+    ) {
         try {
-            if (!method.instructions().isEmpty()) {
-                method.withInstructions(
-                    new XmlNode(
-                        new Xembler(
-                            new DecompilerMachine(
-                                new LocalVariables(method.access(), method.descriptor(), clazz),
-                                Collections.singletonMap("counting", "true")
-                            ).decompile(new JeoInstructions(method).instructions()),
-                            new Transformers.Node()
-                        ).xmlQuietly()
-                    ).children().toArray(XmlNode[]::new)
-                );
+            final XmlNode[] nodes;
+            if (forked) {
+                nodes = task.join();
+            } else {
+                nodes = task.invoke();
             }
+            method.withInstructions(nodes);
         } catch (final ClassCastException | IllegalStateException exception) {
-            throw new IllegalStateException(
-                String.format(
-                    "Failed to decompile method '%s' from the following XMIR: '%s'",
-                    method,
-                    this.prog
-                ),
-                exception
-            );
+            throw this.failure(method, exception);
         }
     }
+
+    /**
+     * Method decompilation failure.
+     *
+     * @param method Method.
+     * @param cause Cause.
+     * @return Exception to throw.
+     */
+    private IllegalStateException failure(final XmlMethod method, final RuntimeException cause) {
+        return new IllegalStateException(
+            String.format(
+                "Failed to decompile method '%s' from the following XMIR: '%s'",
+                method,
+                this.prog
+            ),
+            cause
+        );
+    }
 }
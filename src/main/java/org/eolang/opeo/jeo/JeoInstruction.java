@@ -23,36 +23,41 @@
  */
 package org.eolang.opeo.jeo;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.ToString;
 import org.eolang.jeo.representation.xmir.XmlInstruction;
+import org.eolang.jeo.representation.xmir.XmlNode;
 import org.eolang.jeo.representation.xmir.XmlOperand;
 import org.eolang.opeo.Instruction;
+import org.eolang.opeo.ast.Label;
 
 /**
  * Class that represents the instruction provided by jeo maven plugin.
+ * Label operands are read right from XMIR as {@link Label} nodes, so we don't
+ * touch the global jeo cache of ASM labels here.
  * @since 0.1
  */
 @ToString
 public final class JeoInstruction implements Instruction {
 
     /**
-     * Jeo instruction.
+     * XMIR node of the instruction.
      */
-    private final XmlInstruction instruction;
+    private final XmlNode node;
 
     /**
      * Constructor.
-     * @param instruction Instruction.
+     * @param node XMIR node of the instruction.
      */
-    public JeoInstruction(final XmlInstruction instruction) {
-        this.instruction = instruction;
+    public JeoInstruction(final XmlNode node) {
+        this.node = node;
     }
 
     @Override
     public int opcode() {
-        return this.instruction.opcode();
+        return new XmlInstruction(this.node).opcode();
     }
 
     @Override
@@ -62,9 +67,28 @@ public final class JeoInstruction implements Instruction {
 
     @Override
     public List<Object> operands() {
-        return this.instruction.operands()
-            .stream()
-            .map(XmlOperand::asObject)
-            .collect(Collectors.toList());
+        final List<XmlNode> children = this.node.children().collect(Collectors.toList());
+        final List<XmlOperand> operands = new XmlInstruction(this.node).operands();
+        final List<Object> result = new ArrayList<>(operands.size());
+        for (int idx = 0; idx < operands.size(); ++idx) {
+            result.add(JeoInstruction.operand(children.get(idx + 1), operands.get(idx)));
+        }
+        return result;
+    }
+
+    /**
+     * Convert XMIR operand to object.
+     * @param child XMIR node of the operand.
+     * @param operand Parsed operand.
+     * @return Label node for labels, or the operand value otherwise.
+     */
+    private static Object operand(final XmlNode child, final XmlOperand operand) {
+        final Object result;
+        if (child.attribute("base").filter("label"::equals).isPresent()) {
+            result = new Label(child);
+        } else {
+            result = operand.asObject();
+        }
+        return result;
     }
 }
@@ -24,10 +24,8 @@
 package org.eolang.opeo.jeo;
 
 import java.util.Arrays;
-import org.eolang.jeo.representation.xmir.XmlBytecodeEntry;
-import org.eolang.jeo.representation.xmir.XmlInstruction;
-import org.eolang.jeo.representation.xmir.XmlLabel;
 import org.eolang.jeo.representation.xmir.XmlMethod;
+import org.eolang.jeo.representation.xmir.XmlNode;
 import org.eolang.opeo.Instruction;
 import org.eolang.opeo.LabelInstruction;
 import org.eolang.opeo.ast.OpcodeName;
@@ -66,36 +64,39 @@ public final class JeoInstructions {
      * @return Instructions array.
      */
     public Instruction[] instructions() {
-        return this.method.instructions().stream()
+        return this.method.nodes().stream()
             .filter(JeoInstructions::isInstruction)
             .map(JeoInstructions::toInstruction)
             .toArray(Instruction[]::new);
     }
 
     /**
-     * Check if entry is an instruction.
-     * @param entry XML bytecode entry.
-     * @return True if entry is instruction.
+     * Check if node is an instruction.
+     * @param node XML node.
+     * @return True if node is instruction.
      */
-    private static boolean isInstruction(final XmlBytecodeEntry entry) {
-        return entry instanceof XmlInstruction || entry instanceof XmlLabel;
+    private static boolean isInstruction(final XmlNode node) {
+        return node.attribute("base")
+            .filter(base -> "opcode".equals(base) || "label".equals(base))
+            .isPresent();
     }
 
     /**
-     * Convert XML instruction to instruction.
+     * Convert XML node to instruction.
      *
-     * @param entry XML instruction.
+     * @param node XML node.
      * @return Instruction.
      */
-    private static Instruction toInstruction(final XmlBytecodeEntry entry) {
+    private static Instruction toInstruction(final XmlNode node) {
         final Instruction result;
-        if (entry instanceof XmlInstruction) {
-            result = new JeoInstruction((XmlInstruction) entry);
-        } else if (entry instanceof XmlLabel) {
-            result = new LabelInstruction((XmlLabel) entry);
+        final String base = node.attribute("base").orElse("");
+        if ("opcode".equals(base)) {
+            result = new JeoInstruction(node);
+        } else if ("label".equals(base)) {
+            result = new LabelInstruction(node.text());
         } else {
             throw new IllegalArgumentException(
-                String.format("Unknown bytecode entry: %s, class is %s", entry, entry.getClass())
+                String.format("Unknown bytecode entry: %s, base is '%s'", node, base)
             );
         }
         return result;
@@ -0,0 +1,595 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.io.ByteArrayOutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.cactoos.scalar.Sticky;
+import org.cactoos.scalar.Unchecked;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * XMIR in a compact binary format.
+ * It is the same tree as the XML one, but all the names and texts go to a string
+ * table of the file, numbers are written as varints, and hex data, like
+ * {@code 38 63 33}, is written as raw bytes.
+ * The format is used between the "decompile" and "compile" goals,
+ * where nobody reads the files, and it's much faster to read than XML.
+ * This class also converts between the formats, which is handy for debugging:
+ * {@code new BinaryXmir(bytes).xml()} and {@code new BinaryXmir(xml).bytes()}.
+ * <p>Layout: magic, number of strings, strings (length and UTF-8 bytes),
+ * number of the document children, and then nodes. Each node is a kind byte
+ * followed by its content.</p>
+ * @since 0.5
+ */
+public final class BinaryXmir {
+
+    /**
+     * The first bytes of every binary XMIR.
+     * XML can't start with zero, so the formats can't be confused.
+     */
+    static final byte[] MAGIC = {0, 'X', 'M', 'B', 1};
+
+    /**
+     * Element node.
+     */
+    private static final int ELEMENT = 1;
+
+    /**
+     * Text node.
+     */
+    private static final int TEXT = 2;
+
+    /**
+     * Text node with hex data.
+     */
+    private static final int HEX = 3;
+
+    /**
+     * Comment node.
+     */
+    private static final int COMMENT = 4;
+
+    /**
+     * Processing instruction node.
+     */
+    private static final int INSTRUCTION = 5;
+
+    /**
+     * Hex data, as jeo writes it.
+     */
+    private static final Pattern HEX_DATA = Pattern.compile("[0-9A-F]{2}( [0-9A-F]{2})*");
+
+    /**
+     * Hex digits.
+     */
+    private static final char[] DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * XML representation.
+     */
+    private final Unchecked<XML> text;
+
+    /**
+     * Binary representation.
+     */
+    private final Unchecked<byte[]> binary;
+
+    /**
+     * Constructor.
+     * @param xml XMIR to encode.
+     */
+    public BinaryXmir(final XML xml) {
+        this(
+            new Unchecked<>(() -> xml),
+            new Unchecked<>(new Sticky<>(() -> BinaryXmir.encode(xml.node())))
+        );
+    }
+
+    /**
+     * Constructor.
+     * @param bytes Binary XMIR to decode.
+     */
+    public BinaryXmir(final byte[] bytes) {
+        this(
+            new Unchecked<>(new Sticky<>(() -> BinaryXmir.decode(bytes))),
+            new Unchecked<>(() -> bytes)
+        );
+    }
+
+    /**
+     * Constructor.
+     * @param text XML representation.
+     * @param binary Binary representation.
+     */
+    private BinaryXmir(final Unchecked<XML> text, final Unchecked<byte[]> binary) {
+        this.text = text;
+        this.binary = binary;
+    }
+
+    /**
+     * XMIR as XML.
+     * @return XML.
+     */
+    public XML xml() {
+        return this.text.value();
+    }
+
+    /**
+     * XMIR in the binary format.
+     * @return Bytes.
+     */
+    public byte[] bytes() {
+        return this.binary.value();
+    }
+
+    /**
+     * Summary of XMIR.
+     * It is collected right from the string table and the nodes of the binary
+     * XMIR, neither the DOM nor the XML text is built.
+     * @return Summary.
+     */
+    public XmirSummary summary() {
+        final ByteBuffer buffer = ByteBuffer.wrap(this.bytes());
+        final String[] strings = BinaryXmir.strings(buffer);
+        final XmirCensus census = new XmirCensus();
+        final int total = BinaryXmir.varint(buffer);
+        for (int idx = 0; idx < total; ++idx) {
+            BinaryXmir.walk(buffer, strings, census, Optional.empty());
+        }
+        return census.summary();
+    }
+
+    /**
+     * Whether the bytes start like a binary XMIR.
+     * @param head The first bytes of a file.
+     * @return True if it is a binary XMIR.
+     */
+    static boolean isBinary(final byte[] head) {
+        return head.length >= BinaryXmir.MAGIC.length
+            && Arrays.equals(Arrays.copyOf(head, BinaryXmir.MAGIC.length), BinaryXmir.MAGIC);
+    }
+
+    /**
+     * Encode the DOM.
+     * @param root Document or element.
+     * @return Bytes.
+     */
+    private static byte[] encode(final Node root) {
+        final Map<String, Integer> strings = new LinkedHashMap<>(0);
+        final ByteArrayOutputStream tree = new ByteArrayOutputStream();
+        final List<Node> children = BinaryXmir.children(root);
+        BinaryXmir.varint(tree, children.size());
+        for (final Node child : children) {
+            BinaryXmir.encode(child, strings, tree);
+        }
+        final ByteArrayOutputStream result = new ByteArrayOutputStream(tree.size() * 2);
+        result.write(BinaryXmir.MAGIC, 0, BinaryXmir.MAGIC.length);
+        BinaryXmir.varint(result, strings.size());
+        for (final String str : strings.keySet()) {
+            final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            BinaryXmir.varint(result, bytes.length);
+            result.write(bytes, 0, bytes.length);
+        }
+        result.write(tree.toByteArray(), 0, tree.size());
+        return result.toByteArray();
+    }
+
+    /**
+     * Encode a node.
+     * @param node Node.
+     * @param strings String table.
+     * @param out Output.
+     */
+    private static void encode(
+        final Node node, final Map<String, Integer> strings, final ByteArrayOutputStream out
+    ) {
+        switch (node.getNodeType()) {
+            case Node.ELEMENT_NODE:
+                out.write(BinaryXmir.ELEMENT);
+                BinaryXmir.varint(out, BinaryXmir.namespace(node, strings));
+                BinaryXmir.varint(out, BinaryXmir.index(node.getNodeName(), strings));
+                final NamedNodeMap attrs = node.getAttributes();
+                BinaryXmir.varint(out, attrs.getLength());
+                for (int idx = 0; idx < attrs.getLength(); ++idx) {
+                    final Node attr = attrs.item(idx);
+                    BinaryXmir.varint(out, BinaryXmir.namespace(attr, strings));
+                    BinaryXmir.varint(out, BinaryXmir.index(attr.getNodeName(), strings));
+                    BinaryXmir.varint(out, BinaryXmir.index(attr.getNodeValue(), strings));
+                }
+                final List<Node> children = BinaryXmir.children(node);
+                BinaryXmir.varint(out, children.size());
+                for (final Node child : children) {
+                    BinaryXmir.encode(child, strings, out);
+                }
+                break;
+            case Node.TEXT_NODE:
+            case Node.CDATA_SECTION_NODE:
+                final String value = node.getNodeValue();
+                if (BinaryXmir.HEX_DATA.matcher(value).matches()) {
+                    out.write(BinaryXmir.HEX);
+                    final int size = (value.length() + 1) / 3;
+                    BinaryXmir.varint(out, size);
+                    for (int idx = 0; idx < size; ++idx) {
+                        out.write(Integer.parseInt(value.substring(idx * 3, idx * 3 + 2), 16));
+                    }
+                } else {
+                    out.write(BinaryXmir.TEXT);
+                    BinaryXmir.varint(out, BinaryXmir.index(value, strings));
+                }
+                break;
+            case Node.COMMENT_NODE:
+                out.write(BinaryXmir.COMMENT);
+                BinaryXmir.varint(out, BinaryXmir.index(node.getNodeValue(), strings));
+                break;
+            case Node.PROCESSING_INSTRUCTION_NODE:
+                out.write(BinaryXmir.INSTRUCTION);
+                BinaryXmir.varint(out, BinaryXmir.index(node.getNodeName(), strings));
+                BinaryXmir.varint(out, BinaryXmir.index(node.getNodeValue(), strings));
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Decode the DOM.
+     * @param bytes Bytes.
+     * @return XML.
+     */
+    private static XML decode(final byte[] bytes) {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        final String[] strings = BinaryXmir.strings(buffer);
+        final Document doc = BinaryXmir.document();
+        final int total = BinaryXmir.varint(buffer);
+        for (int idx = 0; idx < total; ++idx) {
+            doc.appendChild(BinaryXmir.decode(doc, buffer, strings));
+        }
+        return new XMLDocument(doc);
+    }
+
+    /**
+     * Read the string table.
+     * @param buffer Binary XMIR, positioned at its start.
+     * @return Strings, the buffer is positioned right after them.
+     */
+    private static String[] strings(final ByteBuffer buffer) {
+        final byte[] bytes = buffer.array();
+        if (!BinaryXmir.isBinary(bytes)) {
+            throw new IllegalArgumentException("The bytes are not a binary XMIR");
+        }
+        BinaryXmir.skip(buffer, BinaryXmir.MAGIC.length);
+        final String[] strings = new String[BinaryXmir.varint(buffer)];
+        for (int idx = 0; idx < strings.length; ++idx) {
+            final int length = BinaryXmir.varint(buffer);
+            strings[idx] = new String(
+                bytes, buffer.position(), length, StandardCharsets.UTF_8
+            );
+            BinaryXmir.skip(buffer, length);
+        }
+        return strings;
+    }
+
+    /**
+     * Walk a node and pass it to the census.
+     * Texts are collected only for meta heads and tails, the rest of the texts
+     * are skipped without building strings.
+     * @param buffer Input.
+     * @param strings String table.
+     * @param census Census to fill.
+     * @param text Text of the parent element, if the parent is a head or a tail.
+     * @checkstyle CyclomaticComplexityCheck (100 lines)
+     */
+    private static void walk(
+        final ByteBuffer buffer,
+        final String[] strings,
+        final XmirCensus census,
+        final Optional<StringBuilder> text
+    ) {
+        final int kind = buffer.get();
+        switch (kind) {
+            case BinaryXmir.ELEMENT:
+                BinaryXmir.varint(buffer);
+                final String name = strings[BinaryXmir.varint(buffer)];
+                String base = null;
+                String title = null;
+                boolean abstracted = false;
+                final int attrs = BinaryXmir.varint(buffer);
+                for (int idx = 0; idx < attrs; ++idx) {
+                    final boolean local = BinaryXmir.varint(buffer) == 0;
+                    final String attr = strings[BinaryXmir.varint(buffer)];
+                    final String value = strings[BinaryXmir.varint(buffer)];
+                    if (local && "base".equals(attr)) {
+                        base = value;
+                    } else if (local && "name".equals(attr)) {
+                        title = value;
+                    } else if (local && "abstract".equals(attr)) {
+                        abstracted = true;
+                    }
+                }
+                final boolean object = "o".equals(name);
+                if (object) {
+                    census.open(base, title, abstracted);
+                }
+                final Optional<StringBuilder> inner;
+                if ("head".equals(name) || "tail".equals(name)) {
+                    inner = Optional.of(new StringBuilder(0));
+                } else {
+                    inner = Optional.empty();
+                }
+                final int children = BinaryXmir.varint(buffer);
+                for (int idx = 0; idx < children; ++idx) {
+                    BinaryXmir.walk(buffer, strings, census, inner);
+                }
+                if (object) {
+                    census.close();
+                } else if ("head".equals(name)) {
+                    census.head(inner.get().toString());
+                } else if ("tail".equals(name)) {
+                    census.tail(inner.get().toString());
+                }
+                break;
+            case BinaryXmir.TEXT:
+                final int index = BinaryXmir.varint(buffer);
+                text.ifPresent(builder -> builder.append(strings[index]));
+                break;
+            case BinaryXmir.HEX:
+                final int size = BinaryXmir.varint(buffer);
+                if (text.isPresent()) {
+                    for (int idx = 0; idx < size; ++idx) {
+                        final int octet = buffer.get() & 0xFF;
+                        if (idx > 0) {
+                            text.get().append(' ');
+                        }
+                        text.get().append(BinaryXmir.DIGITS[octet >> 4])
+                            .append(BinaryXmir.DIGITS[octet & 0x0F]);
+                    }
+                } else {
+                    BinaryXmir.skip(buffer, size);
+                }
+                break;
+            case BinaryXmir.COMMENT:
+                BinaryXmir.varint(buffer);
+                break;
+            case BinaryXmir.INSTRUCTION:
+                BinaryXmir.varint(buffer);
+                BinaryXmir.varint(buffer);
+                break;
+            default:
+                throw new IllegalStateException(
+                    String.format(
+                        "Unknown node kind %d at position %d of binary XMIR",
+                        kind,
+                        buffer.position() - 1
+                    )
+                );
+        }
+    }
+
+    /**
+     * Skip bytes.
+     * The position is set through {@link Buffer}, since {@link ByteBuffer}
+     * overrides the method with a covariant return type only since Java 9.
+     * @param buffer Input.
+     * @param size Number of bytes to skip.
+     */
+    private static void skip(final ByteBuffer buffer, final int size) {
+        ((Buffer) buffer).position(buffer.position() + size);
+    }
+
+    /**
+     * Decode a node.
+     * @param doc Document.
+     * @param buffer Input.
+     * @param strings String table.
+     * @return Node.
+     */
+    private static Node decode(
+        final Document doc, final ByteBuffer buffer, final String[] strings
+    ) {
+        final int kind = buffer.get();
+        final Node result;
+        switch (kind) {
+            case BinaryXmir.ELEMENT:
+                final String uri = BinaryXmir.optional(BinaryXmir.varint(buffer), strings);
+                final Element element = doc.createElementNS(
+                    uri, strings[BinaryXmir.varint(buffer)]
+                );
+                final int attrs = BinaryXmir.varint(buffer);
+                for (int idx = 0; idx < attrs; ++idx) {
+                    final String namespace = BinaryXmir.optional(
+                        BinaryXmir.varint(buffer), strings
+                    );
+                    final Attr attr = doc.createAttributeNS(
+                        namespace, strings[BinaryXmir.varint(buffer)]
+                    );
+                    attr.setValue(strings[BinaryXmir.varint(buffer)]);
+                    element.setAttributeNodeNS(attr);
+                }
+                final int children = BinaryXmir.varint(buffer);
+                for (int idx = 0; idx < children; ++idx) {
+                    element.appendChild(BinaryXmir.decode(doc, buffer, strings));
+                }
+                result = element;
+                break;
+            case BinaryXmir.TEXT:
+                result = doc.createTextNode(strings[BinaryXmir.varint(buffer)]);
+                break;
+            case BinaryXmir.HEX:
+                final int size = BinaryXmir.varint(buffer);
+                final char[] chars = new char[Math.max(0, size * 3 - 1)];
+                for (int idx = 0; idx < size; ++idx) {
+                    final int octet = buffer.get() & 0xFF;
+                    chars[idx * 3] = BinaryXmir.DIGITS[octet >> 4];
+                    chars[idx * 3 + 1] = BinaryXmir.DIGITS[octet & 0x0F];
+                    if (idx < size - 1) {
+                        chars[idx * 3 + 2] = ' ';
+                    }
+                }
+                result = doc.createTextNode(new String(chars));
+                break;
+            case BinaryXmir.COMMENT:
+                result = doc.createComment(strings[BinaryXmir.varint(buffer)]);
+                break;
+            case BinaryXmir.INSTRUCTION:
+                final String target = strings[BinaryXmir.varint(buffer)];
+                result = doc.createProcessingInstruction(
+                    target, strings[BinaryXmir.varint(buffer)]
+                );
+                break;
+            default:
+                throw new IllegalStateException(
+                    String.format(
+                        "Unknown node kind %d at position %d of binary XMIR",
+                        kind,
+                        buffer.position() - 1
+                    )
+                );
+        }
+        return result;
+    }
+
+    /**
+     * Children of the node we keep.
+     * @param node Node.
+     * @return Children.
+     */
+    private static List<Node> children(final Node node) {
+        final NodeList all = node.getChildNodes();
+        final List<Node> result = new ArrayList<>(all.getLength());
+        for (int idx = 0; idx < all.getLength(); ++idx) {
+            final Node child = all.item(idx);
+            if (child.getNodeType() != Node.DOCUMENT_TYPE_NODE) {
+                result.add(child);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Index of the node namespace in the string table.
+     * @param node Node.
+     * @param strings String table.
+     * @return Index plus one, or zero if the node has no namespace.
+     */
+    private static int namespace(final Node node, final Map<String, Integer> strings) {
+        final String uri = node.getNamespaceURI();
+        final int result;
+        if (uri == null) {
+            result = 0;
+        } else {
+            result = BinaryXmir.index(uri, strings) + 1;
+        }
+        return result;
+    }
+
+    /**
+     * String by optional index.
+     * @param index Index plus one, or zero.
+     * @param strings String table.
+     * @return String or null.
+     */
+    private static String optional(final int index, final String[] strings) {
+        final String result;
+        if (index == 0) {
+            result = null;
+        } else {
+            result = strings[index - 1];
+        }
+        return result;
+    }
+
+    /**
+     * Index of the string in the string table.
+     * @param str String.
+     * @param strings String table.
+     * @return Index.
+     */
+    private static int index(final String str, final Map<String, Integer> strings) {
+        return strings.computeIfAbsent(str, key -> strings.size());
+    }
+
+    /**
+     * Write varint.
+     * @param out Output.
+     * @param value Non-negative value.
+     */
+    private static void varint(final ByteArrayOutputStream out, final int value) {
+        int rest = value;
+        while ((rest & ~0x7F) != 0) {
+            out.write((rest & 0x7F) | 0x80);
+            rest >>>= 7;
+        }
+        out.write(rest);
+    }
+
+    /**
+     * Read varint.
+     * @param buffer Input.
+     * @return Value.
+     */
+    private static int varint(final ByteBuffer buffer) {
+        int result = 0;
+        int shift = 0;
+        int octet = buffer.get();
+        while ((octet & 0x80) != 0) {
+            result |= (octet & 0x7F) << shift;
+            shift += 7;
+            octet = buffer.get();
+        }
+        return result | octet << shift;
+    }
+
+    /**
+     * New empty document.
+     * @return Document.
+     */
+    private static Document document() {
+        try {
+            final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            return factory.newDocumentBuilder().newDocument();
+        } catch (final ParserConfigurationException exception) {
+            throw new IllegalStateException("Can't create an empty XML document", exception);
+        }
+    }
+}
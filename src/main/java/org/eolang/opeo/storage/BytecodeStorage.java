@@ -0,0 +1,116 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+import org.eolang.jeo.representation.XmirRepresentation;
+import org.eolang.jeo.representation.xmir.AllLabels;
+
+/**
+ * Bytecode storage.
+ * Reads XMIRs and saves them as '.class' files, assembling the compiled
+ * document right in memory. It replaces writing jeo XMIRs to disk and
+ * assembling them by "jeo-maven-plugin" afterwards.
+ * @since 0.5
+ */
+public final class BytecodeStorage implements Storage {
+
+    /**
+     * Path to the XMIRs to compile.
+     */
+    private final Path xmirs;
+
+    /**
+     * Path to the output directory with '.class' files.
+     */
+    private final Path classes;
+
+    /**
+     * The original storage to read XMIRs from.
+     */
+    private final FileStorage original;
+
+    /**
+     * Constructor.
+     * @param xmirs Path to the XMIRs to compile.
+     * @param classes Path to the output directory with '.class' files.
+     */
+    public BytecodeStorage(final Path xmirs, final Path classes) {
+        this.xmirs = xmirs;
+        this.classes = classes;
+        this.original = new FileStorage(xmirs, classes);
+    }
+
+    @Override
+    public Stream<XmirEntry> all() {
+        Logger.info(this, "Compiling EO sources from %[file]s", this.xmirs);
+        Logger.info(this, "Saving bytecode to %[file]s", this.classes);
+        return this.original.all();
+    }
+
+    @Override
+    public void save(final XmirEntry xmir) {
+        final String relative = xmir.relative();
+        final Path out = this.classes.resolve(
+            Paths.get(
+                String.format(
+                    "%s.class",
+                    relative.substring(0, relative.length() - ".xmir".length())
+                )
+            )
+        );
+        try {
+            final byte[] bytes = BytecodeStorage.assembled(xmir);
+            Files.createDirectories(out.getParent());
+            Files.write(out, bytes);
+            Logger.info(this, "Assembled %[file]s (%[size]s)", out, (long) bytes.length);
+        } catch (final IOException exception) {
+            throw new IllegalStateException(
+                String.format("Can't save bytecode of '%s' to '%s'", relative, out),
+                exception
+            );
+        }
+    }
+
+    /**
+     * Assemble XMIR into bytecode.
+     * Jeo keeps the labels of the assembled class in its thread-local
+     * {@link AllLabels} cache and never forgets them, so we clear it once
+     * the class is assembled, like the "assemble" goal of jeo does.
+     * @param xmir XMIR to assemble.
+     * @return Bytecode.
+     */
+    private static byte[] assembled(final XmirEntry xmir) {
+        try {
+            return new XmirRepresentation(xmir.toXml()).toBytecode().asBytes();
+        } finally {
+            new AllLabels().clearCache();
+        }
+    }
+}
@@ -60,10 +60,24 @@ public final class DecompilationStorage implements Storage {
     public DecompilationStorage(
         final Path xmirs,
         final Path output
+    ) {
+        this(xmirs, output, false);
+    }
+
+    /**
+     * Constructor.
+     * @param xmirs Path to the generated XMIRs by jeo-maven-plugin.
+     * @param output Path to the output directory.
+     * @param binary Whether to save XMIRs in the binary format.
+     */
+    public DecompilationStorage(
+        final Path xmirs,
+        final Path output,
+        final boolean binary
     ) {
         this.xmirs = xmirs;
         this.output = output;
-        this.original = new FileStorage(xmirs, output);
+        this.original = new FileStorage(xmirs, output, binary);
     }
 
     @Override
@@ -0,0 +1,140 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.lang.ref.SoftReference;
+import org.cactoos.Scalar;
+import org.cactoos.scalar.Unchecked;
+
+/**
+ * Parsed XMIR document.
+ * The DOM is kept only softly reachable, so the garbage collector may drop it,
+ * and it is parsed again from the source when it's needed.
+ * A document built in memory, for example by a transformation, has nothing
+ * to be parsed from, so it's pinned until it's serialized.
+ * @since 0.5
+ */
+final class Document {
+
+    /**
+     * Source to parse the document from, if any.
+     */
+    private Scalar<XML> source;
+
+    /**
+     * The document that can't be parsed again, if any.
+     */
+    private XML pinned;
+
+    /**
+     * Cached document.
+     */
+    private SoftReference<XML> cache;
+
+    /**
+     * Serialized document, if it was serialized.
+     * The same entry might be saved to several places, so it's serialized only once.
+     */
+    private String text;
+
+    /**
+     * Constructor.
+     * @param source Source to parse the document from.
+     */
+    Document(final Scalar<XML> source) {
+        this(source, null);
+    }
+
+    /**
+     * Constructor.
+     * @param xml Document built in memory.
+     */
+    Document(final XML xml) {
+        this(null, xml);
+    }
+
+    /**
+     * Constructor.
+     * @param source Source to parse the document from.
+     * @param pinned The document that can't be parsed again.
+     */
+    private Document(final Scalar<XML> source, final XML pinned) {
+        this.source = source;
+        this.pinned = pinned;
+        this.cache = new SoftReference<>(pinned);
+        this.text = null;
+    }
+
+    /**
+     * The document.
+     * @return Parsed document.
+     */
+    synchronized XML value() {
+        XML result = this.cache.get();
+        if (result == null) {
+            result = new Unchecked<>(this.source).value();
+            this.cache = new SoftReference<>(result);
+        }
+        return result;
+    }
+
+    /**
+     * Serialize the document.
+     * After that the document isn't pinned anymore, since it can be
+     * parsed again from the serialized text.
+     * @return XML text.
+     */
+    synchronized String serialized() {
+        if (this.text == null) {
+            final String serialized = this.value().toString();
+            this.text = serialized;
+            if (this.pinned != null) {
+                this.source = () -> new XMLDocument(serialized);
+                this.pinned = null;
+            }
+        }
+        return this.text;
+    }
+
+    /**
+     * Whether the parsed document is in memory.
+     * @return True if it is.
+     */
+    synchronized boolean parsed() {
+        return this.cache.get() != null;
+    }
+
+    /**
+     * Drop the parsed document.
+     * It will be parsed again if it's needed.
+     */
+    synchronized void release() {
+        if (this.pinned != null) {
+            this.serialized();
+        }
+        this.cache.clear();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Content digest of a file.
+ * The file is read in a streaming manner, so it is never loaded into memory entirely.
+ * @since 0.5
+ */
+public final class FileDigest {
+
+    /**
+     * Digest algorithm.
+     */
+    private static final String ALGORITHM = "SHA-256";
+
+    /**
+     * Buffer size.
+     */
+    private static final int BUFFER = 8192;
+
+    /**
+     * File to digest.
+     */
+    private final Path file;
+
+    /**
+     * Constructor.
+     * @param file File to digest.
+     */
+    public FileDigest(final Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Hex representation of the digest.
+     * @return Hex string.
+     */
+    public String asString() {
+        try (InputStream input = Files.newInputStream(this.file)) {
+            final MessageDigest digest = MessageDigest.getInstance(FileDigest.ALGORITHM);
+            final byte[] buffer = new byte[FileDigest.BUFFER];
+            int read = input.read(buffer);
+            while (read != -1) {
+                digest.update(buffer, 0, read);
+                read = input.read(buffer);
+            }
+            final StringBuilder hex = new StringBuilder(0);
+            for (final byte part : digest.digest()) {
+                hex.append(String.format("%02x", part));
+            }
+            return hex.toString();
+        } catch (final IOException | NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(
+                String.format("Can't calculate digest of '%s'", this.file),
+                exception
+            );
+        }
+    }
+}
@@ -23,16 +23,31 @@
  */
 package org.eolang.opeo.storage;
 
+import com.jcabi.log.Logger;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.AbstractMap;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * File storage.
+ * Returns the largest files first, since the decompilation and compilation
+ * time grows with the file size. Then a few huge classes start right away
+ * and the small ones fill the gaps instead of making the build wait for the tail.
+ * Reads both XML and {@link BinaryXmir} files, saves XML unless binary output is asked.
+ * Files that weren't changed are copied as they are, without parsing.
+ * Outputs that already have exactly the same content are not rewritten, so their
+ * modification time stays the same and incremental tools after us skip them.
  * @since 0.2
  */
 public final class FileStorage implements Storage {
@@ -47,14 +62,30 @@ public final class FileStorage implements Storage {
      */
     private final Path output;
 
+    /**
+     * Whether to save XMIRs in the binary format.
+     */
+    private final boolean binary;
+
     /**
      * Constructor.
      * @param xmirs Path to the source folder.
      * @param output Path to the output folder.
      */
     public FileStorage(final Path xmirs, final Path output) {
+        this(xmirs, output, false);
+    }
+
+    /**
+     * Constructor.
+     * @param xmirs Path to the source folder.
+     * @param output Path to the output folder.
+     * @param binary Whether to save XMIRs in the binary format.
+     */
+    public FileStorage(final Path xmirs, final Path output, final boolean binary) {
         this.xmirs = xmirs;
         this.output = output;
+        this.binary = binary;
     }
 
     @Override
@@ -67,11 +98,16 @@ public final class FileStorage implements Storage {
                 )
             );
         }
-        try {
-            return Files.walk(this.xmirs)
+        try (Stream<Path> files = Files.walk(this.xmirs)) {
+            final List<Map.Entry<Path, Long>> sized = files
                 .filter(Files::isRegularFile)
                 .filter(FileStorage::isXmir)
-                .map(this::entry);
+                .map(path -> new AbstractMap.SimpleImmutableEntry<>(path, FileStorage.size(path)))
+                .collect(Collectors.toList());
+            sized.sort(
+                Comparator.comparingLong((Map.Entry<Path, Long> file) -> file.getValue()).reversed()
+            );
+            return sized.stream().map(Map.Entry::getKey).map(this::entry);
         } catch (final IOException exception) {
             throw new IllegalStateException(
                 String.format("Can't retrieve XMIR files from the '%s' folder", this.xmirs),
@@ -93,11 +129,13 @@ public final class FileStorage implements Storage {
     public void save(final XmirEntry xmir) {
         final Path out = this.output.resolve(Paths.get(xmir.relative()));
         try {
-            Files.createDirectories(out.getParent());
-            Files.write(
-                out,
-                xmir.toXml().toString().getBytes(StandardCharsets.UTF_8)
-            );
+            final byte[] bytes = this.bytes(xmir);
+            if (FileStorage.same(out, bytes)) {
+                Logger.debug(this, "File %[file]s is not changed, skip writing", out);
+            } else {
+                Files.createDirectories(out.getParent());
+                Files.write(out, bytes);
+            }
         } catch (final IllegalArgumentException exception) {
             throw new IllegalStateException(
                 String.format(
@@ -130,6 +168,55 @@ public final class FileStorage implements Storage {
         }
     }
 
+    /**
+     * Serialize XMIR.
+     * An untouched XML file is copied byte-for-byte, without parsing.
+     * @param xmir XMIR to serialize.
+     * @return Bytes to save.
+     * @throws IOException If fails to read the source file.
+     */
+    private byte[] bytes(final XmirEntry xmir) throws IOException {
+        final byte[] result;
+        final Optional<Path> source = xmir.source();
+        if (this.binary) {
+            result = new BinaryXmir(xmir.toXml()).bytes();
+        } else if (source.isPresent()) {
+            result = Files.readAllBytes(source.get());
+        } else {
+            result = xmir.serialized().getBytes(StandardCharsets.UTF_8);
+        }
+        return result;
+    }
+
+    /**
+     * Whether the file has exactly the same content.
+     * The size is compared first, then the content is compared in a streaming manner.
+     * @param file File.
+     * @param bytes Content.
+     * @return True if the file exists and has the same content.
+     * @throws IOException If fails to read the file.
+     */
+    private static boolean same(final Path file, final byte[] bytes) throws IOException {
+        boolean result = Files.isRegularFile(file) && Files.size(file) == bytes.length;
+        if (result) {
+            try (InputStream input = Files.newInputStream(file)) {
+                final byte[] buffer = new byte[8192];
+                int offset = 0;
+                int read = input.read(buffer);
+                while (result && read != -1) {
+                    for (int idx = 0; result && idx < read; ++idx) {
+                        result = offset + idx < bytes.length
+                            && buffer[idx] == bytes[offset + idx];
+                    }
+                    offset += read;
+                    read = input.read(buffer);
+                }
+                result = result && offset == bytes.length;
+            }
+        }
+        return result;
+    }
+
     /**
      * Read XMIR from the file.
      * @param path Path to the file
@@ -139,6 +226,23 @@ public final class FileStorage implements Storage {
         return new XmirEntry(path, this.xmirs.relativize(path).toString());
     }
 
+    /**
+     * Size of the file.
+     * It's taken once for each file before sorting, not in the comparator.
+     * @param path Path to the file.
+     * @return Size in bytes.
+     */
+    private static long size(final Path path) {
+        try {
+            return Files.size(path);
+        } catch (final IOException exception) {
+            throw new IllegalStateException(
+                String.format("Can't get the size of the '%s' file", path),
+                exception
+            );
+        }
+    }
+
     /**
      * Check if the file is XMIR.
      * @param path Path to the file.
@@ -23,47 +23,120 @@
  */
 package org.eolang.opeo.storage;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 /**
  * Storage that keeps everything in memory.
- * This storage is rather useful for unit tests.
+ * It is safe to save entries from many threads at once, so the storage
+ * can connect stages of an in-process pipeline. Entries are sharded by package,
+ * so threads that save classes of different packages don't wait for each other,
+ * and they are found by relative path without scanning the storage.
+ * Entries keep the order they were saved in, even entries with the same path.
+ * {@link #all()} takes them out of the storage, so the storage doesn't keep
+ * consumed entries and their documents alive.
  * @since 0.2
  */
 public final class InMemoryStorage implements Storage {
 
     /**
-     * Container where everything is stored.
+     * Shards by package.
      */
-    private final List<XmirEntry> container;
+    private final ConcurrentMap<String, Shard> shards;
+
+    /**
+     * Order of the next saved entry.
+     */
+    private final AtomicLong order;
 
     /**
      * Constructor.
      */
     public InMemoryStorage() {
-        this(new CopyOnWriteArrayList<>());
+        this(new ArrayList<>(0));
+    }
+
+    /**
+     * Constructor.
+     * @param entries Entries the storage starts with, in the order they were saved.
+     */
+    public InMemoryStorage(final List<XmirEntry> entries) {
+        this(InMemoryStorage.sharded(entries), new AtomicLong(entries.size()));
     }
 
     /**
      * Constructor.
-     * @param container Container where everything is stored.
+     * @param shards Shards by package.
+     * @param order Order of the next saved entry.
      */
-    public InMemoryStorage(final List<XmirEntry> container) {
-        this.container = container;
+    private InMemoryStorage(final ConcurrentMap<String, Shard> shards, final AtomicLong order) {
+        this.shards = shards;
+        this.order = order;
     }
 
+    /**
+     * Take all the entries out of the storage.
+     * Each shard is drained atomically: entries saved concurrently are either
+     * in the result or stay in the storage, but never get lost.
+     * @return All the entries in the order they were saved.
+     */
     @Override
     public Stream<XmirEntry> all() {
-        final Stream<XmirEntry> stream = this.container.stream();
-        this.container.clear();
-        return stream;
+        return InMemoryStorage.ordered(this.shards.values(), Shard::drain);
     }
 
     @Override
     public void save(final XmirEntry xmir) {
-        this.container.add(xmir);
+        this.shards.computeIfAbsent(
+            InMemoryStorage.pckg(xmir.relative()), key -> new Shard()
+        ).add(this.order.getAndIncrement(), xmir);
+    }
+
+    /**
+     * All the entries without taking them out of the storage.
+     * @return Copy of all the entries in the order they were saved.
+     */
+    public Stream<XmirEntry> snapshot() {
+        return InMemoryStorage.ordered(this.shards.values(), Shard::snapshot);
+    }
+
+    /**
+     * Find the most recently saved entry with the given relative path.
+     * @param relative Relative path.
+     * @return Entry if it's in the storage.
+     */
+    public Optional<XmirEntry> find(final String relative) {
+        return Optional.ofNullable(this.shards.get(InMemoryStorage.pckg(relative)))
+            .flatMap(shard -> shard.find(relative));
+    }
+
+    /**
+     * Number of entries in the storage.
+     * @return Number of entries.
+     */
+    public int size() {
+        return this.shards.values().stream().mapToInt(Shard::size).sum();
+    }
+
+    /**
+     * Number of entries that keep their parsed documents in memory.
+     * The rest either weren't parsed yet or were released and will be
+     * parsed again on demand.
+     * @return Number of parsed documents.
+     */
+    public int parsed() {
+        return this.shards.values().stream().mapToInt(Shard::parsed).sum();
     }
 
     /**
@@ -71,10 +144,157 @@ public final class InMemoryStorage implements Storage {
      * @return The last saved entry.
      */
     public XmirEntry last() {
-        if (this.container.isEmpty()) {
-            throw new IllegalStateException("Storage is empty");
+        return this.shards.values().stream()
+            .map(Shard::last)
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .max(Comparator.comparingLong(Map.Entry::getKey))
+            .map(Map.Entry::getValue)
+            .orElseThrow(() -> new IllegalStateException("Storage is empty"));
+    }
+
+    /**
+     * Shards with the initial entries.
+     * @param entries Initial entries.
+     * @return Shards by package.
+     */
+    private static ConcurrentMap<String, Shard> sharded(final List<XmirEntry> entries) {
+        final ConcurrentMap<String, Shard> result = new ConcurrentHashMap<>(0);
+        for (int index = 0; index < entries.size(); ++index) {
+            final XmirEntry entry = entries.get(index);
+            result.computeIfAbsent(InMemoryStorage.pckg(entry.relative()), key -> new Shard())
+                .add(index, entry);
+        }
+        return result;
+    }
+
+    /**
+     * Entries of all the shards in the order they were saved.
+     * @param shards Shards.
+     * @param take How to take the entries from a shard.
+     * @return Ordered entries.
+     */
+    private static Stream<XmirEntry> ordered(
+        final Collection<Shard> shards,
+        final Function<Shard, List<Map.Entry<Long, XmirEntry>>> take
+    ) {
+        final List<Map.Entry<Long, XmirEntry>> all = new ArrayList<>(0);
+        for (final Shard shard : shards) {
+            all.addAll(take.apply(shard));
+        }
+        all.sort(Comparator.comparingLong(Map.Entry::getKey));
+        return all.stream().map(Map.Entry::getValue);
+    }
+
+    /**
+     * Package of the entry.
+     * @param relative Relative path of the entry.
+     * @return Package, which is the directory of the relative path.
+     */
+    private static String pckg(final String relative) {
+        final int slash = Math.max(relative.lastIndexOf('/'), relative.lastIndexOf('\\'));
+        final String result;
+        if (slash < 0) {
+            result = "";
         } else {
-            return this.container.get(this.container.size() - 1);
+            result = relative.substring(0, slash);
+        }
+        return result;
+    }
+
+    /**
+     * Entries of a single package.
+     * @since 0.5
+     */
+    private static final class Shard {
+
+        /**
+         * Entries with their order, in the order they were saved.
+         */
+        private final List<Map.Entry<Long, XmirEntry>> entries;
+
+        /**
+         * The most recently saved entries by relative path.
+         */
+        private final Map<String, XmirEntry> latest;
+
+        /**
+         * Constructor.
+         */
+        Shard() {
+            this.entries = new ArrayList<>(0);
+            this.latest = new HashMap<>(0);
+        }
+
+        /**
+         * Add an entry.
+         * @param order Order of the entry.
+         * @param entry Entry.
+         */
+        synchronized void add(final long order, final XmirEntry entry) {
+            this.entries.add(new AbstractMap.SimpleImmutableEntry<>(order, entry));
+            this.latest.put(entry.relative(), entry);
+        }
+
+        /**
+         * Take all the entries out.
+         * @return Entries with their order.
+         */
+        synchronized List<Map.Entry<Long, XmirEntry>> drain() {
+            final List<Map.Entry<Long, XmirEntry>> result = new ArrayList<>(this.entries);
+            this.entries.clear();
+            this.latest.clear();
+            return result;
+        }
+
+        /**
+         * Copy of all the entries.
+         * @return Entries with their order.
+         */
+        synchronized List<Map.Entry<Long, XmirEntry>> snapshot() {
+            return new ArrayList<>(this.entries);
+        }
+
+        /**
+         * Find the most recently saved entry by relative path.
+         * @param relative Relative path.
+         * @return Entry, if any.
+         */
+        synchronized Optional<XmirEntry> find(final String relative) {
+            return Optional.ofNullable(this.latest.get(relative));
+        }
+
+        /**
+         * The most recently saved entry with its order.
+         * @return Entry, if any.
+         */
+        synchronized Optional<Map.Entry<Long, XmirEntry>> last() {
+            final Optional<Map.Entry<Long, XmirEntry>> result;
+            if (this.entries.isEmpty()) {
+                result = Optional.empty();
+            } else {
+                result = Optional.of(this.entries.get(this.entries.size() - 1));
+            }
+            return result;
+        }
+
+        /**
+         * Number of entries.
+         * @return Number of entries.
+         */
+        synchronized int size() {
+            return this.entries.size();
+        }
+
+        /**
+         * Number of entries that keep their parsed documents.
+         * @return Number of parsed documents.
+         */
+        synchronized int parsed() {
+            return (int) this.entries.stream()
+                .map(Map.Entry::getValue)
+                .filter(XmirEntry::parsed)
+                .count();
         }
     }
 }
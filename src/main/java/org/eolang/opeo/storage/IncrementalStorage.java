@@ -0,0 +1,149 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Incremental storage.
+ * Skips all the input XMIRs that weren't changed since the previous build,
+ * according to the {@link Manifest}. Outputs of such files stay untouched.
+ * @since 0.5
+ */
+public final class IncrementalStorage implements Storage {
+
+    /**
+     * Original storage.
+     */
+    private final Storage origin;
+
+    /**
+     * Manifest of the previous build.
+     */
+    private final Manifest manifest;
+
+    /**
+     * Path to the source folder.
+     */
+    private final Path xmirs;
+
+    /**
+     * Path to the output folder.
+     */
+    private final Path output;
+
+    /**
+     * Digests of the files that were retrieved but not saved yet.
+     */
+    private final Map<String, String> pending;
+
+    /**
+     * Constructor.
+     * @param origin Original storage.
+     * @param manifest Manifest of the previous build.
+     * @param xmirs Path to the source folder.
+     * @param output Path to the output folder.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public IncrementalStorage(
+        final Storage origin,
+        final Manifest manifest,
+        final Path xmirs,
+        final Path output
+    ) {
+        this.origin = origin;
+        this.manifest = manifest;
+        this.xmirs = xmirs;
+        this.output = output;
+        this.pending = new ConcurrentHashMap<>(0);
+    }
+
+    @Override
+    public Stream<XmirEntry> all() {
+        return this.origin.all().filter(this::changed);
+    }
+
+    @Override
+    public void save(final XmirEntry xmir) {
+        this.origin.save(xmir);
+        final String digest = this.pending.remove(xmir.relative());
+        if (digest != null) {
+            this.manifest.record(xmir.relative(), digest);
+        }
+    }
+
+    /**
+     * Remove outputs of the files that were processed in the previous build,
+     * but were removed from the source folder since then.
+     * @return Number of removed outputs.
+     */
+    public int prune() {
+        int removed = 0;
+        for (final String relative : this.manifest.recorded()) {
+            if (!Files.exists(this.xmirs.resolve(Paths.get(relative)))) {
+                final Path out = this.output.resolve(Paths.get(relative));
+                try {
+                    if (Files.deleteIfExists(out)) {
+                        Logger.info(this, "Removed obsolete %[file]s", out);
+                        removed += 1;
+                    }
+                } catch (final IOException exception) {
+                    throw new IllegalStateException(
+                        String.format("Can't remove obsolete file '%s'", out),
+                        exception
+                    );
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Check whether the entry was changed since the previous build.
+     * @param entry Entry to check.
+     * @return True if it was changed and should be processed.
+     */
+    private boolean changed(final XmirEntry entry) {
+        final String relative = entry.relative();
+        final String digest = new FileDigest(this.xmirs.resolve(Paths.get(relative))).asString();
+        final boolean result;
+        if (this.manifest.unchanged(relative, digest)
+            && Files.exists(this.output.resolve(Paths.get(relative)))) {
+            Logger.debug(this, "Skipping unchanged %s", relative);
+            this.manifest.record(relative, digest);
+            result = false;
+        } else {
+            this.pending.put(relative, digest);
+            result = true;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.cactoos.scalar.Sticky;
+import org.cactoos.scalar.Synced;
+import org.cactoos.scalar.Unchecked;
+
+/**
+ * Manifest of the previous build.
+ * Keeps digests of all the processed input files together with a fingerprint
+ * of the build settings (plugin version, supported opcodes, etc.)
+ * If the fingerprint changes, all the previous digests are ignored.
+ * @since 0.5
+ */
+public final class Manifest {
+
+    /**
+     * Key of the fingerprint in the manifest file.
+     * It can't clash with relative paths of XMIR files.
+     */
+    private static final String FINGERPRINT = "#fingerprint";
+
+    /**
+     * Manifest file.
+     */
+    private final Path file;
+
+    /**
+     * Fingerprint of the current build settings.
+     */
+    private final String fingerprint;
+
+    /**
+     * Digests from the previous build.
+     */
+    private final Unchecked<Map<String, String>> previous;
+
+    /**
+     * Digests of the current build.
+     */
+    private final Map<String, String> current;
+
+    /**
+     * Constructor.
+     * @param file Manifest file.
+     * @param fingerprint Fingerprint of the current build settings.
+     */
+    public Manifest(final Path file, final String fingerprint) {
+        this.file = file;
+        this.fingerprint = fingerprint;
+        this.previous = new Unchecked<>(
+            new Synced<>(new Sticky<>(() -> Manifest.load(file, fingerprint)))
+        );
+        this.current = new ConcurrentHashMap<>(0);
+    }
+
+    /**
+     * Check whether the file has the same digest as in the previous build.
+     * @param relative Relative path of the file.
+     * @param digest Current digest of the file.
+     * @return True if the file wasn't changed.
+     */
+    public boolean unchanged(final String relative, final String digest) {
+        return digest.equals(this.previous.value().get(relative));
+    }
+
+    /**
+     * Files that were processed in the previous build.
+     * @return Relative paths.
+     */
+    public Set<String> recorded() {
+        return Collections.unmodifiableSet(this.previous.value().keySet());
+    }
+
+    /**
+     * Record the digest of the processed file.
+     * @param relative Relative path of the file.
+     * @param digest Digest of the file.
+     */
+    public void record(final String relative, final String digest) {
+        this.current.put(relative, digest);
+    }
+
+    /**
+     * Save all the recorded digests, replacing the previous manifest.
+     */
+    public void save() {
+        final Properties props = new Properties();
+        props.putAll(this.current);
+        props.setProperty(Manifest.FINGERPRINT, this.fingerprint);
+        try {
+            Files.createDirectories(this.file.toAbsolutePath().getParent());
+            try (OutputStream output = Files.newOutputStream(this.file)) {
+                props.store(output, "opeo-maven-plugin manifest");
+            }
+        } catch (final IOException exception) {
+            throw new IllegalStateException(
+                String.format("Can't save manifest to '%s'", this.file),
+                exception
+            );
+        }
+    }
+
+    /**
+     * Load digests of the previous build.
+     * @param file Manifest file.
+     * @param fingerprint Fingerprint of the current build settings.
+     * @return Digests or empty map if the manifest is absent or outdated.
+     */
+    private static Map<String, String> load(final Path file, final String fingerprint) {
+        final Map<String, String> result;
+        if (Files.exists(file)) {
+            final Properties props = new Properties();
+            try (InputStream input = Files.newInputStream(file)) {
+                props.load(input);
+            } catch (final IOException exception) {
+                throw new IllegalStateException(
+                    String.format("Can't read manifest from '%s'", file),
+                    exception
+                );
+            }
+            if (fingerprint.equals(props.getProperty(Manifest.FINGERPRINT))) {
+                props.remove(Manifest.FINGERPRINT);
+                result = props.stringPropertyNames().stream().collect(
+                    Collectors.toMap(name -> name, props::getProperty)
+                );
+            } else {
+                result = Collections.emptyMap();
+            }
+        } else {
+            result = Collections.emptyMap();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Set of opcode numbers.
+ * Opcode names are resolved once, when the set is created, so that checking
+ * the opcodes of a program is a couple of bit operations.
+ * @since 0.5
+ */
+public final class OpcodeSet {
+
+    /**
+     * Number that is used for opcode names we can't recognize.
+     * It is out of the bytecode range, so it never belongs to a set.
+     */
+    static final int UNKNOWN = 256;
+
+    /**
+     * Opcode numbers by their lowercase names.
+     */
+    private static final Map<String, Integer> CODES = OpcodeSet.init();
+
+    /**
+     * Opcode numbers.
+     */
+    private final BitSet codes;
+
+    /**
+     * Constructor.
+     * @param names Opcode names, they might contain a counter suffix, like 'aload-2'.
+     */
+    public OpcodeSet(final String... names) {
+        this(OpcodeSet.bits(names));
+    }
+
+    /**
+     * Constructor.
+     * @param codes Opcode numbers.
+     */
+    OpcodeSet(final BitSet codes) {
+        this.codes = codes;
+    }
+
+    /**
+     * Check if the opcode belongs to the set.
+     * @param code Opcode number.
+     * @return True if it does.
+     */
+    public boolean contains(final int code) {
+        return code >= 0 && this.codes.get(code);
+    }
+
+    /**
+     * Check if all the opcodes belong to the set.
+     * @param used Opcode numbers to check.
+     * @return True if all of them do.
+     */
+    public boolean containsAll(final BitSet used) {
+        final BitSet rest = (BitSet) used.clone();
+        rest.andNot(this.codes);
+        return rest.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return this.codes.toString();
+    }
+
+    /**
+     * Opcode number by the name.
+     * Names are case-sensitive, since jeo writes them in lowercase.
+     * @param name Opcode name, it might contain a counter suffix, like 'aload-2'.
+     * @return Opcode number or {@link #UNKNOWN}.
+     */
+    static int code(final String name) {
+        final int dash = name.indexOf('-');
+        final String simple;
+        if (dash < 0) {
+            simple = name;
+        } else {
+            simple = name.substring(0, dash);
+        }
+        return OpcodeSet.CODES.getOrDefault(simple, OpcodeSet.UNKNOWN);
+    }
+
+    /**
+     * Resolve opcode names.
+     * Unknown names are ignored.
+     * @param names Opcode names.
+     * @return Opcode numbers.
+     */
+    private static BitSet bits(final String... names) {
+        final BitSet result = new BitSet(OpcodeSet.UNKNOWN);
+        Arrays.stream(names)
+            .mapToInt(OpcodeSet::code)
+            .filter(code -> code != OpcodeSet.UNKNOWN)
+            .forEach(result::set);
+        return result;
+    }
+
+    /**
+     * Collect opcode numbers by their names.
+     * Only constants from the bytecode range are taken.
+     * @return Opcode numbers by names.
+     */
+    private static Map<String, Integer> init() {
+        try {
+            final Map<String, Integer> res = new HashMap<>();
+            for (final Field field : Opcodes.class.getFields()) {
+                if (field.getType() == int.class) {
+                    final int code = field.getInt(Opcodes.class);
+                    if (code >= 0 && code < OpcodeSet.UNKNOWN) {
+                        res.put(field.getName().toLowerCase(Locale.ROOT), code);
+                    }
+                }
+            }
+            return res;
+        } catch (final IllegalAccessException exception) {
+            throw new IllegalStateException(
+                String.format("Can't retrieve opcode numbers from '%s'", Opcodes.class),
+                exception
+            );
+        }
+    }
+}
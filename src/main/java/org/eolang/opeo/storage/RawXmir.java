@@ -0,0 +1,324 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+import org.cactoos.scalar.Sticky;
+import org.cactoos.scalar.Synced;
+import org.cactoos.scalar.Unchecked;
+
+/**
+ * Raw XMIR file.
+ * Scans a memory-mapped view of the file bytes for opcode names, try-catch
+ * tuples and aliases. It is much cheaper than parsing, and it is enough to
+ * tell that a file will be skipped, so such a file can be copied as it is.
+ * The bytes are scanned once, when the first question is asked.
+ * @since 0.5
+ */
+final class RawXmir {
+
+    /**
+     * Start of the 'base' attribute value.
+     */
+    private static final byte[] BASE = RawXmir.ascii("base=\"");
+
+    /**
+     * Start of the 'name' attribute value.
+     */
+    private static final byte[] NAME = RawXmir.ascii("name=\"");
+
+    /**
+     * Start of the jeo alias value.
+     */
+    private static final byte[] ALIAS = RawXmir.ascii("<tail>org.eolang.jeo.");
+
+    /**
+     * Objects whose aliases are removed when they are not used.
+     * The same as in {@link org.eolang.opeo.decompilation.WithoutAliases}.
+     */
+    private static final String[] OBJECTS = {"label", "opcode"};
+
+    /**
+     * Path to the file.
+     */
+    private final Path path;
+
+    /**
+     * Markers found in the file.
+     */
+    private final Unchecked<Markers> markers;
+
+    /**
+     * Constructor.
+     * @param path Path to the file.
+     */
+    RawXmir(final Path path) {
+        this.path = path;
+        this.markers = new Unchecked<>(
+            new Synced<>(new Sticky<>(() -> RawXmir.scan(path)))
+        );
+    }
+
+    /**
+     * Path to the file.
+     * @return Path.
+     */
+    Path path() {
+        return this.path;
+    }
+
+    /**
+     * Whether the file is an XML text, not a {@link BinaryXmir}.
+     * @return True if it is XML.
+     */
+    boolean textual() {
+        return this.markers.value().text;
+    }
+
+    /**
+     * Whether the file certainly has unsupported opcodes or try-catch blocks.
+     * @param supported Supported opcodes.
+     * @return True if it has.
+     */
+    boolean rejected(final OpcodeSet supported) {
+        final Markers found = this.markers.value();
+        return found.guarded || !supported.containsAll(found.codes);
+    }
+
+    /**
+     * Whether the file doesn't have aliases that
+     * {@link org.eolang.opeo.decompilation.WithoutAliases} would remove.
+     * @return True if removing unused aliases changes nothing.
+     */
+    boolean clean() {
+        final Markers found = this.markers.value();
+        boolean result = true;
+        for (final String object : RawXmir.OBJECTS) {
+            result = result && (found.bases.contains(object) || !found.aliases.contains(object));
+        }
+        return result;
+    }
+
+    /**
+     * Scan the file.
+     * @param path Path to the file.
+     * @return Markers found in the file.
+     */
+    private static Markers scan(final Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final Markers result = new Markers(!RawXmir.binary(bytes));
+            if (result.text) {
+                int pos = 0;
+                while (pos < bytes.limit()) {
+                    if (RawXmir.matches(bytes, pos, RawXmir.BASE)) {
+                        pos = result.base(bytes, pos);
+                    } else if (RawXmir.matches(bytes, pos, RawXmir.ALIAS)) {
+                        final int start = pos + RawXmir.ALIAS.length;
+                        pos = RawXmir.until(bytes, start, '<');
+                        result.aliases.add(RawXmir.text(bytes, start, pos));
+                    } else {
+                        pos += 1;
+                    }
+                }
+            }
+            return result;
+        } catch (final IOException exception) {
+            throw new IllegalStateException(
+                String.format("Can't scan XMIR file '%s'", path),
+                exception
+            );
+        }
+    }
+
+    /**
+     * Whether the bytes start with the {@link BinaryXmir} magic number.
+     * @param bytes File bytes.
+     * @return True if they do.
+     */
+    private static boolean binary(final ByteBuffer bytes) {
+        final byte[] head = new byte[Math.min(BinaryXmir.MAGIC.length, bytes.limit())];
+        for (int idx = 0; idx < head.length; ++idx) {
+            head[idx] = bytes.get(idx);
+        }
+        return head.length == BinaryXmir.MAGIC.length && BinaryXmir.isBinary(head);
+    }
+
+    /**
+     * Whether the bytes have the pattern at the position.
+     * @param bytes File bytes.
+     * @param pos Position.
+     * @param pattern Pattern.
+     * @return True if they have.
+     */
+    private static boolean matches(final ByteBuffer bytes, final int pos, final byte[] pattern) {
+        boolean result = pos + pattern.length <= bytes.limit();
+        for (int idx = 0; result && idx < pattern.length; ++idx) {
+            result = bytes.get(pos + idx) == pattern[idx];
+        }
+        return result;
+    }
+
+    /**
+     * Position of the next byte, or the end of bytes.
+     * @param bytes File bytes.
+     * @param from Position to start from.
+     * @param stop Byte to find.
+     * @return Position.
+     */
+    private static int until(final ByteBuffer bytes, final int from, final char stop) {
+        int pos = from;
+        while (pos < bytes.limit() && bytes.get(pos) != stop) {
+            pos += 1;
+        }
+        return pos;
+    }
+
+    /**
+     * Value of the attribute within the current tag.
+     * @param bytes File bytes.
+     * @param from Position inside the tag.
+     * @param attribute Start of the attribute value.
+     * @return Attribute value or empty string if the tag doesn't have it.
+     */
+    private static String attribute(
+        final ByteBuffer bytes, final int from, final byte[] attribute
+    ) {
+        int pos = from;
+        while (pos < bytes.limit() && bytes.get(pos) != '>'
+            && !RawXmir.matches(bytes, pos, attribute)) {
+            pos += 1;
+        }
+        final String result;
+        if (RawXmir.matches(bytes, pos, attribute)) {
+            final int start = pos + attribute.length;
+            result = RawXmir.text(bytes, start, RawXmir.until(bytes, start, '"'));
+        } else {
+            result = "";
+        }
+        return result;
+    }
+
+    /**
+     * Decode the bytes.
+     * @param bytes File bytes.
+     * @param start Start position.
+     * @param end End position, exclusive.
+     * @return Text.
+     */
+    private static String text(final ByteBuffer bytes, final int start, final int end) {
+        final byte[] chunk = new byte[end - start];
+        for (int idx = 0; idx < chunk.length; ++idx) {
+            chunk[idx] = bytes.get(start + idx);
+        }
+        return new String(chunk, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * ASCII bytes of the text.
+     * @param text Text.
+     * @return Bytes.
+     */
+    private static byte[] ascii(final String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Markers found in the file.
+     * @since 0.5
+     */
+    private static final class Markers {
+
+        /**
+         * Whether the file is an XML text.
+         */
+        private final boolean text;
+
+        /**
+         * Numbers of the used opcodes.
+         */
+        private final BitSet codes;
+
+        /**
+         * Used bases of jeo objects.
+         */
+        private final Set<String> bases;
+
+        /**
+         * Declared jeo aliases.
+         */
+        private final Set<String> aliases;
+
+        /**
+         * Whether the file has try-catch blocks.
+         */
+        private boolean guarded;
+
+        /**
+         * Constructor.
+         * @param text Whether the file is an XML text.
+         */
+        Markers(final boolean text) {
+            this.text = text;
+            this.codes = new BitSet();
+            this.bases = new HashSet<>(0);
+            this.aliases = new HashSet<>(0);
+        }
+
+        /**
+         * Register the 'base' attribute.
+         * Objects without names are ignored, like {@link XmirStream} does.
+         * @param bytes File bytes.
+         * @param pos Position of the attribute.
+         * @return Position after the attribute value.
+         */
+        int base(final ByteBuffer bytes, final int pos) {
+            final int start = pos + RawXmir.BASE.length;
+            final int end = RawXmir.until(bytes, start, '"');
+            final String base = RawXmir.text(bytes, start, end);
+            int tag = pos;
+            while (tag > 0 && bytes.get(tag) != '<') {
+                tag -= 1;
+            }
+            final String name = RawXmir.attribute(bytes, tag, RawXmir.NAME);
+            if (!name.isEmpty()) {
+                if ("opcode".equals(base)) {
+                    this.codes.set(OpcodeSet.code(name));
+                } else if ("tuple".equals(base) && name.contains("trycatchblocks")) {
+                    this.guarded = true;
+                }
+            }
+            this.bases.add(base);
+            return end;
+        }
+    }
+}
@@ -59,6 +59,6 @@ public final class WithoutAliasesStorage implements Storage {
 
     @Override
     public void save(final XmirEntry xmir) {
-        this.origin.save(xmir.transform(xml -> new WithoutAliases(xml).toXml()));
+        this.origin.save(xmir.withoutAliases());
     }
 }
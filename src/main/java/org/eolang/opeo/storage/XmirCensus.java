@@ -0,0 +1,165 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Opcodes, try-catch blocks and packages of XMIR met so far.
+ * It doesn't care where the XMIR comes from: {@link XmirStream} feeds it
+ * from StAX events and {@link BinaryXmir} from its nodes.
+ * Opcodes and try-catch blocks are attributed to the closest enclosing
+ * abstract object, which is the method they belong to.
+ * @since 0.5
+ */
+final class XmirCensus {
+
+    /**
+     * Names of all the try-catch tuples.
+     */
+    private final List<String> catches;
+
+    /**
+     * Opcode numbers used by each method.
+     */
+    private final Map<String, BitSet> methods;
+
+    /**
+     * Methods with try-catch blocks.
+     */
+    private final Set<String> guarded;
+
+    /**
+     * Enclosing abstract objects with the depth they were opened at.
+     */
+    private final Deque<Map.Entry<Integer, String>> scopes;
+
+    /**
+     * Depth of the current object.
+     */
+    private int depth;
+
+    /**
+     * Text of the last meta head.
+     */
+    private String head;
+
+    /**
+     * Package of the program, the first non-empty package meta wins.
+     */
+    private String pckg;
+
+    /**
+     * Constructor.
+     */
+    XmirCensus() {
+        this.catches = new ArrayList<>(0);
+        this.methods = new LinkedHashMap<>(0);
+        this.guarded = new LinkedHashSet<>(0);
+        this.scopes = new ArrayDeque<>(0);
+        this.depth = 0;
+        this.head = "";
+        this.pckg = "";
+    }
+
+    /**
+     * Register an object element.
+     * @param base Value of the 'base' attribute or null if it's absent.
+     * @param name Value of the 'name' attribute or null if it's absent.
+     * @param abstracted Whether the object has the 'abstract' attribute.
+     */
+    void open(final String base, final String name, final boolean abstracted) {
+        this.depth += 1;
+        if (name != null) {
+            if ("opcode".equals(base)) {
+                this.methods.computeIfAbsent(this.method(), key -> new BitSet())
+                    .set(OpcodeSet.code(name));
+            } else if ("tuple".equals(base) && name.contains("trycatchblocks")) {
+                this.catches.add(name);
+                this.guarded.add(this.method());
+            } else if (abstracted) {
+                this.scopes.push(new AbstractMap.SimpleImmutableEntry<>(this.depth, name));
+            }
+        }
+    }
+
+    /**
+     * Register the end of an object element.
+     */
+    void close() {
+        if (!this.scopes.isEmpty() && this.scopes.peek().getKey() == this.depth) {
+            this.scopes.pop();
+        }
+        this.depth -= 1;
+    }
+
+    /**
+     * Register the head of a meta.
+     * @param text Text of the head.
+     */
+    void head(final String text) {
+        this.head = text;
+    }
+
+    /**
+     * Register the tail of a meta.
+     * @param text Text of the tail.
+     */
+    void tail(final String text) {
+        if ("package".equals(this.head) && this.pckg.isEmpty()) {
+            this.pckg = text;
+        }
+    }
+
+    /**
+     * Build the summary.
+     * @return Summary.
+     */
+    XmirSummary summary() {
+        return new XmirSummary(this.pckg, this.catches, this.methods, this.guarded);
+    }
+
+    /**
+     * Name of the current method.
+     * @return Method name or empty string if there is no enclosing method.
+     */
+    private String method() {
+        final String result;
+        if (this.scopes.isEmpty()) {
+            result = "";
+        } else {
+            result = this.scopes.peek().getValue();
+        }
+        return result;
+    }
+}
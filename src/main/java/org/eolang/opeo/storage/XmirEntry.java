@@ -26,15 +26,22 @@ package org.eolang.opeo.storage;
 import com.jcabi.xml.XML;
 import com.jcabi.xml.XMLDocument;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.cactoos.Input;
+import org.cactoos.io.InputOf;
 import org.cactoos.scalar.Sticky;
 import org.cactoos.scalar.Synced;
 import org.cactoos.scalar.Unchecked;
+import org.eolang.opeo.decompilation.WithoutAliases;
 
 /**
  * Xmir with package.
@@ -48,20 +55,42 @@ public final class XmirEntry {
      * XML representation of XMIR.
      */
     @ToString.Exclude
-    private final Unchecked<XML> xml;
+    private final Document xml;
+
+    /**
+     * Summary of XMIR.
+     * It is read in a streaming manner when it's possible, so we don't need the DOM.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Unchecked<XmirSummary> brief;
 
     /**
      * Package name.
      */
     private final String pckg;
 
+    /**
+     * The file the entry was read from, if it wasn't transformed.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Optional<RawXmir> raw;
+
+    /**
+     * The same entry without unused aliases, once it's calculated.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final AtomicReference<XmirEntry> clean;
+
     /**
      * Constructor.
      * @param path Path to XMIR.
      * @param pckg Package name.
      */
     XmirEntry(final Path path, final String pckg) {
-        this(XmirEntry.fromFile(path), pckg);
+        this(XmirEntry.fromFile(path), path, pckg);
     }
 
     /**
@@ -70,7 +99,7 @@ public final class XmirEntry {
      * @param pckg Package name.
      */
     XmirEntry(final XML xmir, final String pckg) {
-        this(XmirEntry.fromXml(xmir), pckg);
+        this(new Document(xmir), pckg);
     }
 
     /**
@@ -79,7 +108,7 @@ public final class XmirEntry {
      * @param pckg Package name.
      */
     public XmirEntry(final Input input, final String pckg) {
-        this(XmirEntry.fromInput(input), pckg);
+        this(XmirEntry.fromInput(input), XmirEntry.summaryFrom(input), pckg);
     }
 
     /**
@@ -88,8 +117,61 @@ public final class XmirEntry {
      * @param pckg Package name.
      */
     public XmirEntry(final Unchecked<XML> xml, final String pckg) {
+        this(new Document(xml::value), pckg);
+    }
+
+    /**
+     * Constructor.
+     * @param xml XMIR document.
+     * @param path Path to XMIR, either XML or binary.
+     * @param pckg Package name.
+     */
+    private XmirEntry(final Document xml, final Path path, final String pckg) {
+        this(xml, XmirEntry.summaryFrom(path), Optional.of(new RawXmir(path)), pckg);
+    }
+
+    /**
+     * Constructor.
+     * @param xml XMIR document.
+     * @param pckg Package name.
+     */
+    private XmirEntry(final Document xml, final String pckg) {
+        this(xml, XmirEntry.summaryFrom(xml), pckg);
+    }
+
+    /**
+     * Constructor.
+     * @param xml XMIR document.
+     * @param summary Lazy summary of XMIR.
+     * @param pckg Package name.
+     */
+    private XmirEntry(
+        final Document xml,
+        final Unchecked<XmirSummary> summary,
+        final String pckg
+    ) {
+        this(xml, summary, Optional.empty(), pckg);
+    }
+
+    /**
+     * Constructor.
+     * @param xml XMIR document.
+     * @param summary Lazy summary of XMIR.
+     * @param raw The file the entry was read from, if any.
+     * @param pckg Package name.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private XmirEntry(
+        final Document xml,
+        final Unchecked<XmirSummary> summary,
+        final Optional<RawXmir> raw,
+        final String pckg
+    ) {
         this.xml = xml;
+        this.brief = summary;
+        this.raw = raw;
         this.pckg = pckg;
+        this.clean = new AtomicReference<>();
     }
 
     /**
@@ -101,6 +183,26 @@ public final class XmirEntry {
         return new XmirEntry(transformer.apply(this.xml.value()), this.pckg);
     }
 
+    /**
+     * The same entry without unused aliases.
+     * An untouched file without unused aliases is returned as it is.
+     * It is calculated once, so when the entry is saved to several storages,
+     * they all get the same result and serialize it only once.
+     * @return Entry without unused aliases.
+     */
+    public XmirEntry withoutAliases() {
+        synchronized (this.clean) {
+            if (this.clean.get() == null) {
+                if (this.source().isPresent() && this.raw.get().clean()) {
+                    this.clean.set(this);
+                } else {
+                    this.clean.set(this.transform(xml -> new WithoutAliases(xml).toXml()));
+                }
+            }
+            return this.clean.get();
+        }
+    }
+
     /**
      * Apply XPath query.
      * @param query XPath query.
@@ -110,6 +212,51 @@ public final class XmirEntry {
         return this.xml.value().xpath(query);
     }
 
+    /**
+     * Summary of XMIR.
+     * If the entry was read from a file or input and wasn't transformed,
+     * the summary is read without building the DOM.
+     * @return Summary.
+     */
+    public XmirSummary summary() {
+        return this.brief.value();
+    }
+
+    /**
+     * Whether the entry certainly has unsupported opcodes or try-catch blocks.
+     * If the entry is an untouched XML file, its raw bytes are scanned, so
+     * neither DOM nor XML stream is built. Otherwise, the summary is used.
+     * @param supported Supported opcodes.
+     * @return True if the entry can't be decompiled.
+     */
+    public boolean rejected(final OpcodeSet supported) {
+        final boolean result;
+        if (this.source().isPresent()) {
+            result = this.raw.get().rejected(supported);
+        } else {
+            final XmirSummary summary = this.summary();
+            result = !summary.supported(supported) || !summary.guarded().isEmpty();
+        }
+        return result;
+    }
+
+    /**
+     * Release the parsed document.
+     * Call it when the entry is consumed but still reachable, for example
+     * kept in a list. The document will be parsed again if it's needed.
+     */
+    public void release() {
+        this.xml.release();
+    }
+
+    /**
+     * Whether the parsed document is in memory.
+     * @return True if the document is parsed and not released.
+     */
+    boolean parsed() {
+        return this.xml.parsed();
+    }
+
     /**
      * Package name.
      * @return Package name (relative path).
@@ -126,52 +273,129 @@ public final class XmirEntry {
         return this.xml.value();
     }
 
+    /**
+     * Serialize XMIR.
+     * After serialization the parsed document isn't pinned in memory anymore.
+     * @return XML text.
+     */
+    String serialized() {
+        return this.xml.serialized();
+    }
+
+    /**
+     * The XML file the entry was read from.
+     * It is present only if the entry wasn't transformed, so the file
+     * can be copied as it is instead of serializing the document.
+     * @return Path to the file, if any.
+     */
+    Optional<Path> source() {
+        return this.raw.filter(RawXmir::textual).map(RawXmir::path);
+    }
+
     /**
      * Prestructor from file.
+     * The file might be either XML or {@link BinaryXmir}.
+     * @param path Path to the file.
+     * @return Lazy XMIR document.
+     */
+    private static Document fromFile(final Path path) {
+        return new Document(
+            () -> {
+                final XML result;
+                try {
+                    if (XmirEntry.isBinary(path)) {
+                        result = new BinaryXmir(Files.readAllBytes(path)).xml();
+                    } else {
+                        result = new XMLDocument(path);
+                    }
+                } catch (final FileNotFoundException exception) {
+                    throw new IllegalStateException(
+                        String.format("Can't find '%s'", path),
+                        exception
+                    );
+                }
+                return result;
+            }
+        );
+    }
+
+    /**
+     * Prestructor of summary from file.
+     * XML is read in a streaming manner, binary XMIR is read right from its nodes.
      * @param path Path to the file.
-     * @return Lazy XMIR entry.
+     * @return Lazy summary.
      */
-    private static Unchecked<XML> fromFile(final Path path) {
+    private static Unchecked<XmirSummary> summaryFrom(final Path path) {
         return new Unchecked<>(
             new Synced<>(
                 new Sticky<>(
                     () -> {
-                        try {
-                            return new XMLDocument(path);
-                        } catch (final FileNotFoundException exception) {
-                            throw new IllegalStateException(
-                                String.format("Can't find '%x'", path),
-                                exception
-                            );
+                        final XmirSummary result;
+                        if (XmirEntry.isBinary(path)) {
+                            result = new BinaryXmir(Files.readAllBytes(path)).summary();
+                        } else {
+                            result = new XmirStream(new InputOf(path)).summary();
                         }
+                        return result;
                     }
                 )
             )
         );
     }
 
+    /**
+     * Whether the file is a binary XMIR.
+     * @param path Path to the file.
+     * @return True if it is.
+     * @throws IOException If fails to read the file.
+     */
+    private static boolean isBinary(final Path path) throws IOException {
+        try (InputStream input = Files.newInputStream(path)) {
+            final byte[] head = new byte[BinaryXmir.MAGIC.length];
+            int read = 0;
+            int last = input.read(head, 0, head.length);
+            while (last > 0) {
+                read += last;
+                last = input.read(head, read, head.length - read);
+            }
+            return read == head.length && BinaryXmir.isBinary(head);
+        }
+    }
+
     /**
      * Prestructor from input.
      * @param input Input.
-     * @return Lazy XMIR entry.
+     * @return Lazy XMIR document.
+     */
+    private static Document fromInput(final Input input) {
+        return new Document(() -> new XMLDocument(input.stream()));
+    }
+
+    /**
+     * Prestructor of summary from input.
+     * @param input Input.
+     * @return Lazy summary.
      */
-    private static Unchecked<XML> fromInput(final Input input) {
+    private static Unchecked<XmirSummary> summaryFrom(final Input input) {
         return new Unchecked<>(
-            new Synced<>(
-                new Sticky<>(
-                    () -> new XMLDocument(input.stream())
-                )
-            )
+            new Synced<>(new Sticky<>(() -> new XmirStream(input).summary()))
         );
     }
 
     /**
-     * Prestructor from XML.
-     * @param xml XML.
-     * @return Lazy XMIR entry.
+     * Prestructor of summary from already parsed XML.
+     * The DOM can't be reached without cloning it, so the document is streamed
+     * from its serialized text instead. The text is kept by the document, so
+     * it isn't serialized again when the entry is saved.
+     * @param xml XMIR document.
+     * @return Lazy summary.
      */
-    private static Unchecked<XML> fromXml(final XML xml) {
-        return new Unchecked<>(new Synced<>(new Sticky<>(() -> xml)));
+    private static Unchecked<XmirSummary> summaryFrom(final Document xml) {
+        return new Unchecked<>(
+            new Synced<>(
+                new Sticky<>(() -> new XmirStream(new InputOf(xml.serialized())).summary())
+            )
+        );
     }
 
 }
@@ -0,0 +1,111 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import java.io.InputStream;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import org.cactoos.Input;
+
+/**
+ * Streaming XMIR reader.
+ * Reads XMIR with StAX and collects {@link XmirSummary} in a single pass.
+ * It never builds the DOM, so memory consumption doesn't depend on the XMIR size.
+ * @since 0.5
+ */
+public final class XmirStream {
+
+    /**
+     * StAX factory.
+     * Creation of the factory is expensive, while creating readers is thread-safe.
+     */
+    private static final XMLInputFactory FACTORY = XmirStream.factory();
+
+    /**
+     * XMIR source.
+     */
+    private final Input input;
+
+    /**
+     * Constructor.
+     * @param input XMIR source.
+     */
+    public XmirStream(final Input input) {
+        this.input = input;
+    }
+
+    /**
+     * Read the summary.
+     * @return Summary of the XMIR.
+     */
+    public XmirSummary summary() {
+        final XmirCensus census = new XmirCensus();
+        try (InputStream stream = this.input.stream()) {
+            final XMLStreamReader reader = XmirStream.FACTORY.createXMLStreamReader(stream);
+            try {
+                while (reader.hasNext()) {
+                    final int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        final String element = reader.getLocalName();
+                        if ("o".equals(element)) {
+                            census.open(
+                                reader.getAttributeValue(null, "base"),
+                                reader.getAttributeValue(null, "name"),
+                                reader.getAttributeValue(null, "abstract") != null
+                            );
+                        } else if ("head".equals(element)) {
+                            census.head(reader.getElementText());
+                        } else if ("tail".equals(element)) {
+                            census.tail(reader.getElementText());
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT
+                        && "o".equals(reader.getLocalName())) {
+                        census.close();
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception exception) {
+            throw new IllegalStateException(
+                String.format("Can't read XMIR summary from '%s'", this.input),
+                exception
+            );
+        }
+        return census.summary();
+    }
+
+    /**
+     * Create StAX factory that doesn't resolve any external resources.
+     * @return StAX factory.
+     */
+    private static XMLInputFactory factory() {
+        final XMLInputFactory result = XMLInputFactory.newInstance();
+        result.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        result.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return result;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.ToString;
+import org.eolang.opeo.ast.OpcodeName;
+
+/**
+ * Summary of XMIR.
+ * The minimal amount of facts about XMIR we need to decide what to do with it.
+ * It is collected by {@link XmirCensus} from XML text or binary XMIR.
+ * Opcodes are kept only as numbers per method, their names are restored
+ * from the numbers when they are needed for logging.
+ * @since 0.5
+ */
+@ToString
+public final class XmirSummary {
+
+    /**
+     * Package of the program.
+     */
+    private final String pckg;
+
+    /**
+     * Names of all the try-catch tuples.
+     */
+    private final List<String> catches;
+
+    /**
+     * Opcode numbers used by each method.
+     */
+    private final Map<String, BitSet> methods;
+
+    /**
+     * Methods with try-catch blocks.
+     */
+    private final Set<String> guarded;
+
+    /**
+     * Constructor.
+     * @param pckg Package of the program or empty string if it's absent.
+     * @param catches Names of all the try-catch tuples.
+     * @param methods Opcode numbers used by each method.
+     * @param guarded Methods with try-catch blocks.
+     */
+    public XmirSummary(
+        final String pckg,
+        final List<String> catches,
+        final Map<String, BitSet> methods,
+        final Set<String> guarded
+    ) {
+        this.pckg = pckg;
+        this.catches = catches;
+        this.methods = methods;
+        this.guarded = guarded;
+    }
+
+    /**
+     * Package of the program.
+     * @return Package name or empty string if the package meta is absent.
+     */
+    public String pckg() {
+        return this.pckg;
+    }
+
+    /**
+     * Simplified names of all the opcodes used in the program.
+     * @return Opcode names without counter suffixes.
+     */
+    public Set<String> opcodes() {
+        return XmirSummary.names(this.used().stream());
+    }
+
+    /**
+     * Names of all the try-catch blocks.
+     * @return Names of the try-catch tuples.
+     */
+    public List<String> trycatches() {
+        return Collections.unmodifiableList(this.catches);
+    }
+
+    /**
+     * Opcode numbers used by each method.
+     * @return Opcode numbers by method names.
+     */
+    public Map<String, BitSet> methods() {
+        return Collections.unmodifiableMap(this.methods);
+    }
+
+    /**
+     * Methods with try-catch blocks.
+     * @return Method names.
+     */
+    public Set<String> guarded() {
+        return Collections.unmodifiableSet(this.guarded);
+    }
+
+    /**
+     * Check if all the methods use only supported opcodes.
+     * @param supported Supported opcodes.
+     * @return True if there are no unsupported opcodes.
+     */
+    public boolean supported(final OpcodeSet supported) {
+        return this.methods.values().stream().allMatch(supported::containsAll);
+    }
+
+    /**
+     * Simplified names of the opcodes that are not supported.
+     * @param supported Supported opcodes.
+     * @return Opcode names without counter suffixes.
+     */
+    public Set<String> unsupported(final OpcodeSet supported) {
+        return XmirSummary.names(
+            this.used().stream().filter(code -> !supported.contains(code))
+        );
+    }
+
+    /**
+     * Opcode numbers used by all the methods.
+     * @return Opcode numbers.
+     */
+    private BitSet used() {
+        final BitSet result = new BitSet();
+        this.methods.values().forEach(result::or);
+        return result;
+    }
+
+    /**
+     * Simplified names of the opcodes.
+     * @param codes Opcode numbers.
+     * @return Opcode names.
+     */
+    private static Set<String> names(final IntStream codes) {
+        return codes.mapToObj(code -> new OpcodeName(code).simplified())
+            .collect(Collectors.toSet());
+    }
+}
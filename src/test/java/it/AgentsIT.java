@@ -35,10 +35,11 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.cactoos.Scalar;
 import org.cactoos.scalar.Sticky;
-import org.eolang.jeo.representation.xmir.AllLabels;
+import org.eolang.jeo.representation.HexData;
 import org.eolang.jucs.ClasspathSource;
 import org.eolang.opeo.Instruction;
 import org.eolang.opeo.OpcodeInstruction;
+import org.eolang.opeo.ast.Label;
 import org.eolang.opeo.ast.OpcodeName;
 import org.eolang.opeo.decompilation.DecompilerMachine;
 import org.eolang.opeo.decompilation.agents.TracedAgent;
@@ -190,7 +191,7 @@ final class AgentsIT {
                     final String group = matcher.group(5);
                     arguments.add(group);
                 } else if (Objects.nonNull(matcher.group(6))) {
-                    arguments.add(new AllLabels().label(matcher.group(6)));
+                    arguments.add(new Label(new HexData(matcher.group(6)).value()));
                 } else {
                     opcode.set(new OpcodeName(matcher.group(7)).code());
                 }
@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Pipeline}.
+ * @since 0.5
+ */
+final class PipelineTest {
+
+    @Test
+    void writesAllItems() {
+        final AtomicInteger sum = new AtomicInteger(0);
+        MatcherAssert.assertThat(
+            "We expect that all the items are transformed and written",
+            new Pipeline(new Threads(4), 3).run(
+                IntStream.rangeClosed(1, 100).boxed(),
+                item -> item * 2,
+                sum::addAndGet
+            ),
+            Matchers.equalTo(100)
+        );
+        MatcherAssert.assertThat(
+            "We expect that each item is written exactly once",
+            sum.get(),
+            Matchers.equalTo(10_100)
+        );
+    }
+
+    @Test
+    void keepsLimitedNumberOfItemsInFlight() {
+        final AtomicInteger current = new AtomicInteger(0);
+        final AtomicInteger max = new AtomicInteger(0);
+        new Pipeline(new Threads(4), 2).run(
+            IntStream.range(0, 50).boxed(),
+            item -> {
+                max.accumulateAndGet(current.incrementAndGet(), Math::max);
+                return item;
+            },
+            item -> current.decrementAndGet()
+        );
+        MatcherAssert.assertThat(
+            "We expect that no more items than the limit are in flight at once",
+            max.get(),
+            Matchers.lessThanOrEqualTo(2)
+        );
+    }
+
+    @Test
+    void staysWithinTheNumberOfThreads() {
+        final Set<String> names = ConcurrentHashMap.newKeySet();
+        new Pipeline(new Threads(2)).run(
+            IntStream.range(0, 50).boxed(),
+            item -> {
+                names.add(Thread.currentThread().getName());
+                return item;
+            },
+            item -> names.add(Thread.currentThread().getName())
+        );
+        MatcherAssert.assertThat(
+            "We expect that transformers and writers share the given threads",
+            names,
+            Matchers.hasSize(Matchers.lessThanOrEqualTo(2))
+        );
+    }
+
+    @Test
+    void writesAllItemsWithSingleThread() {
+        MatcherAssert.assertThat(
+            "We expect that a single thread both transforms and writes the items",
+            new Pipeline(new Threads(1), 1).run(
+                IntStream.range(0, 20).boxed(),
+                item -> item,
+                item -> { }
+            ),
+            Matchers.equalTo(20)
+        );
+    }
+
+    @Test
+    void rethrowsWriterFailure() {
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new Pipeline(new Threads(2)).run(
+                IntStream.range(0, 10).boxed(),
+                item -> item,
+                item -> {
+                    throw new IllegalStateException("Can't write");
+                }
+            ),
+            "We expect that the failure of the writer is rethrown"
+        );
+    }
+
+    @Test
+    void finishesStartedWritesOnFailure() {
+        final AtomicInteger started = new AtomicInteger(0);
+        final AtomicInteger finished = new AtomicInteger(0);
+        final AtomicBoolean interrupted = new AtomicBoolean(false);
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new Pipeline(new Threads(4), 4, 2).run(
+                IntStream.range(0, 20).boxed(),
+                item -> {
+                    if (item == 10) {
+                        throw new IllegalStateException("Can't transform");
+                    }
+                    return item;
+                },
+                item -> {
+                    started.incrementAndGet();
+                    try {
+                        Thread.sleep(20L);
+                    } catch (final InterruptedException exception) {
+                        interrupted.set(true);
+                        Thread.currentThread().interrupt();
+                    }
+                    finished.incrementAndGet();
+                }
+            ),
+            "We expect that the failure of the transformation is rethrown"
+        );
+        MatcherAssert.assertThat(
+            "We expect that the writes are neither interrupted nor left running",
+            interrupted.get() || started.get() != finished.get(),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    void takesWritersFromThreadsBudget() {
+        MatcherAssert.assertThat(
+            "We expect a quarter of the threads to write by default",
+            new Pipeline(new Threads(8)).writers(),
+            Matchers.equalTo(2)
+        );
+        MatcherAssert.assertThat(
+            "We expect at least one thread to be left for transformation",
+            new Pipeline(new Threads(4), 0, 10).writers(),
+            Matchers.equalTo(3)
+        );
+    }
+}
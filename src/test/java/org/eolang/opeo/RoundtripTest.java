@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.cactoos.io.ResourceOf;
+import org.eolang.opeo.storage.InMemoryStorage;
+import org.eolang.opeo.storage.XmirEntry;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Roundtrip}.
+ * @since 0.5
+ */
+final class RoundtripTest {
+
+    @Test
+    void decompilesAndCompilesInMemory() {
+        final InMemoryStorage storage = new InMemoryStorage();
+        storage.save(new XmirEntry(new ResourceOf("xmir/Known.xmir"), "Known.xmir"));
+        final InMemoryStorage decompiled = new InMemoryStorage();
+        final AtomicInteger optimized = new AtomicInteger(0);
+        new Roundtrip(
+            storage,
+            decompiled,
+            xml -> {
+                optimized.incrementAndGet();
+                return xml;
+            },
+            new Pipeline(new Threads(2))
+        ).run();
+        MatcherAssert.assertThat(
+            "We expect that the decompiled XMIR is passed to the optimization exactly once",
+            optimized.get(),
+            Matchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            "We expect that the decompiled XMIR is saved, since the storage is given",
+            decompiled.last().relative(),
+            Matchers.equalTo("Known.xmir")
+        );
+        MatcherAssert.assertThat(
+            "We expect that the compiled XMIR contains jeo opcodes again",
+            storage.last().xpath("//o[@base='opcode']/@name"),
+            Matchers.not(Matchers.empty())
+        );
+    }
+
+    @Test
+    void savesUnsupportedFilesAsIs() {
+        final XmirEntry unknown = new XmirEntry(new ResourceOf("xmir/Bar.xmir"), "Bar.xmir");
+        final InMemoryStorage storage = new InMemoryStorage();
+        storage.save(unknown);
+        new Roundtrip(storage).run();
+        MatcherAssert.assertThat(
+            "We expect that the file with unsupported opcodes is saved as it is",
+            storage.last(),
+            Matchers.equalTo(unknown)
+        );
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.apache.maven.execution.MavenSession;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Threads}.
+ * @since 0.5
+ */
+final class ThreadsTest {
+
+    @Test
+    void sumsResultsOfAllItems() {
+        MatcherAssert.assertThat(
+            "We expect all the items to be processed exactly once",
+            new Threads(3).total(IntStream.range(0, 100).boxed(), item -> 1),
+            Matchers.equalTo(100)
+        );
+    }
+
+    @Test
+    void takesItemsInEncounterOrder() {
+        final List<Integer> taken = new CopyOnWriteArrayList<>();
+        new Threads(1).each(IntStream.range(0, 10).boxed(), taken::add);
+        MatcherAssert.assertThat(
+            "We expect that items are taken in the order of the stream, not split by position",
+            taken,
+            Matchers.contains(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)
+        );
+    }
+
+    @Test
+    void dividesProcessorsByBuildDegree() {
+        MatcherAssert.assertThat(
+            "We expect at least one thread even if the build degree is huge",
+            new Threads(0, Integer.MAX_VALUE).size(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    @Test
+    void usesConfiguredNumberWithoutSession() {
+        MatcherAssert.assertThat(
+            "We expect the configured number of threads when there is no Maven session",
+            new Threads(3, (MavenSession) null).size(),
+            Matchers.equalTo(3)
+        );
+    }
+
+    @Test
+    void rethrowsOriginalException() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new Threads(2).each(
+                IntStream.range(0, 10).boxed(),
+                item -> {
+                    throw new IllegalArgumentException("Expected");
+                }
+            ),
+            "We expect the original exception to be rethrown"
+        );
+    }
+
+    @Test
+    void waitsForBusyWorkersBeforeRethrowing() {
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicBoolean finished = new AtomicBoolean(false);
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new Threads(2).each(
+                Stream.of("failing", "slow"),
+                item -> {
+                    try {
+                        if ("slow".equals(item)) {
+                            started.countDown();
+                            Thread.sleep(200L);
+                            finished.set(true);
+                        } else {
+                            started.await();
+                            throw new IllegalArgumentException("Expected");
+                        }
+                    } catch (final InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(exception);
+                    }
+                }
+            ),
+            "We expect the failure to be rethrown"
+        );
+        MatcherAssert.assertThat(
+            "We expect the busy worker to complete before the failure is rethrown",
+            finished.get(),
+            Matchers.is(true)
+        );
+    }
+}
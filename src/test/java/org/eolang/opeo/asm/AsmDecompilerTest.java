@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.asm;
+
+import org.cactoos.bytes.BytesOf;
+import org.cactoos.io.ResourceOf;
+import org.eolang.jeo.representation.BytecodeRepresentation;
+import org.eolang.jeo.representation.bytecode.Bytecode;
+import org.eolang.jeo.representation.xmir.AllLabels;
+import org.eolang.opeo.jeo.JeoDecompiler;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.objectweb.asm.Label;
+
+/**
+ * Test case for {@link AsmDecompiler}.
+ * @since 0.5
+ */
+final class AsmDecompilerTest {
+
+    @Test
+    void decompilesBytecodeDirectly() throws Exception {
+        MatcherAssert.assertThat(
+            "We expect that bytecode will be decompiled into XMIR with the class inside",
+            new AsmDecompiler(
+                new BytesOf(new ResourceOf("bytecode/AgentBuilder.class")).asBytes(),
+                "net/bytebuddy/agent/builder/AgentBuilder.xmir"
+            ).decompile().xpath("/program/objects/o/@name"),
+            Matchers.not(Matchers.empty())
+        );
+    }
+
+    @Test
+    void forgetsLabelsOfDecompiledClass() throws Exception {
+        final Label before = new AllLabels().label("forgotten");
+        new AsmDecompiler(
+            new BytesOf(new ResourceOf("org/eolang/opeo/asm/AsmInstructions.class")).asBytes(),
+            "org/eolang/opeo/asm/AsmInstructions.xmir"
+        ).decompile();
+        MatcherAssert.assertThat(
+            "We expect that jeo's label cache is cleared after each class",
+            new AllLabels().label("forgotten"),
+            Matchers.not(Matchers.sameInstance(before))
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+        strings = {"bytecode/AgentBuilder.class", "org/eolang/opeo/asm/AsmInstructions.class"}
+    )
+    void decompilesTheSameWayAsJeoXmir(final String clazz) throws Exception {
+        final byte[] bytes = new BytesOf(new ResourceOf(clazz)).asBytes();
+        final String pckg = clazz.replace(".class", ".xmir");
+        MatcherAssert.assertThat(
+            "We expect the same result as decompilation of the full jeo XMIR",
+            AsmDecompilerTest.normalized(new AsmDecompiler(bytes, pckg).decompile().toString()),
+            Matchers.equalTo(
+                AsmDecompilerTest.normalized(
+                    new JeoDecompiler(
+                        new BytecodeRepresentation(new Bytecode(bytes)).toEO(), pckg
+                    ).decompile().toString()
+                )
+            )
+        );
+    }
+
+    /**
+     * Remove the parts of XMIR that differ from run to run.
+     * Program times, opcode lines and counters, label identifiers and
+     * reference names are random. Line breaks depend on the attribute lengths.
+     * @param xmir XMIR.
+     * @return Normalized XMIR.
+     */
+    private static String normalized(final String xmir) {
+        return xmir
+            .replaceAll("\\s+", " ")
+            .replaceAll("<program [^>]*>", "<program>")
+            .replaceAll(" line=\"\\d+\"", "")
+            .replaceAll("name=\"([a-z_0-9]+)-[0-9A-F]+\"", "name=\"$1\"")
+            .replaceAll("(base=\"label\" data=\"bytes\">)[^<]*", "$1")
+            .replaceAll("ref-[a-z]+", "ref");
+    }
+}
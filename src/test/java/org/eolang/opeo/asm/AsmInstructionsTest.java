@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.asm;
+
+import org.eolang.opeo.Instruction;
+import org.eolang.opeo.LabelInstruction;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Test case for {@link AsmInstructions}.
+ * @since 0.5
+ */
+final class AsmInstructionsTest {
+
+    @Test
+    void collectsInstructions() {
+        final AsmInstructions method = new AsmInstructions("()V");
+        final Label label = new Label();
+        method.visitLabel(label);
+        method.visitLdcInsn("Hello, world!");
+        method.visitMethodInsn(
+            Opcodes.INVOKEVIRTUAL,
+            "java/io/PrintStream",
+            "println",
+            "(Ljava/lang/String;)V",
+            false
+        );
+        method.visitInsn(Opcodes.RETURN);
+        final Instruction[] instructions = method.instructions();
+        MatcherAssert.assertThat(
+            "The collected instructions should have the same opcodes in the same order",
+            new int[]{
+                instructions[0].opcode(),
+                instructions[1].opcode(),
+                instructions[2].opcode(),
+                instructions[3].opcode(),
+            },
+            Matchers.equalTo(
+                new int[]{
+                    LabelInstruction.LABEL_OPCODE,
+                    Opcodes.LDC,
+                    Opcodes.INVOKEVIRTUAL,
+                    Opcodes.RETURN,
+                }
+            )
+        );
+        MatcherAssert.assertThat(
+            "The method invocation should keep all the operands as jeo does",
+            instructions[2].operands(),
+            Matchers.contains(
+                "java/io/PrintStream", "println", "(Ljava/lang/String;)V", false
+            )
+        );
+    }
+
+    @Test
+    void marksMethodsWithTryCatchBlocksAsInexact() {
+        final AsmInstructions method = new AsmInstructions("()V");
+        method.visitTryCatchBlock(new Label(), new Label(), new Label(), null);
+        MatcherAssert.assertThat(
+            "Methods with try-catch blocks should be taken from XMIR",
+            method.exact(),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    void bindsJumpsToLabels() {
+        final AsmInstructions method = new AsmInstructions("()V");
+        final Label label = new Label();
+        method.visitJumpInsn(Opcodes.GOTO, label);
+        method.visitLabel(new Label());
+        method.visitLabel(label);
+        final Instruction[] instructions = method.instructions();
+        MatcherAssert.assertThat(
+            "The jump should refer to the label by the same identifier",
+            instructions[0].operand(0),
+            Matchers.allOf(
+                Matchers.equalTo(
+                    new org.eolang.opeo.ast.Label((String) instructions[2].operand(0))
+                ),
+                Matchers.not(
+                    Matchers.equalTo(
+                        new org.eolang.opeo.ast.Label((String) instructions[1].operand(0))
+                    )
+                )
+            )
+        );
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.asm;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.cactoos.bytes.BytesOf;
+import org.cactoos.io.ResourceOf;
+import org.eolang.opeo.Threads;
+import org.eolang.opeo.storage.InMemoryStorage;
+import org.eolang.opeo.storage.XmirEntry;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test cases for {@link ClassesDecompiler}.
+ * @since 0.5
+ */
+final class ClassesDecompilerTest {
+
+    /**
+     * Relative path of the class used in tests.
+     */
+    private static final String CLASS = "org/eolang/opeo/asm/AsmInstructions.class";
+
+    @Test
+    void decompilesEachClassOnce(@TempDir final Path dir) throws Exception {
+        final byte[] bytes = new BytesOf(new ResourceOf(ClassesDecompilerTest.CLASS)).asBytes();
+        final Path clazz = dir.resolve(ClassesDecompilerTest.CLASS);
+        Files.createDirectories(clazz.getParent());
+        Files.write(clazz, bytes);
+        try (OutputStream file = Files.newOutputStream(dir.resolve("app.jar"));
+            ZipOutputStream jar = new ZipOutputStream(file)) {
+            jar.putNextEntry(new ZipEntry(ClassesDecompilerTest.CLASS));
+            jar.write(bytes);
+            jar.closeEntry();
+            jar.putNextEntry(
+                new ZipEntry(String.format("META-INF/versions/11/%s", ClassesDecompilerTest.CLASS))
+            );
+            jar.write(bytes);
+            jar.closeEntry();
+        }
+        final InMemoryStorage storage = new InMemoryStorage();
+        new ClassesDecompiler(dir, storage, new Threads(2)).decompile();
+        MatcherAssert.assertThat(
+            "We expect duplicates and versioned classes to be skipped",
+            storage.snapshot().map(XmirEntry::relative).collect(Collectors.toList()),
+            Matchers.contains("org/eolang/opeo/asm/AsmInstructions.xmir")
+        );
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.ast;
+
+import java.util.Arrays;
+import java.util.List;
+import org.eolang.jeo.matchers.SameXml;
+import org.eolang.jeo.representation.xmir.XmlNode;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.xembly.Xembler;
+
+/**
+ * Test cases for {@link DomXmir}.
+ * @since 0.5
+ */
+final class DomXmirTest {
+
+    @Test
+    void writesNodesInOrder() {
+        final List<XmlNode> nodes = new DomXmir(
+            Arrays.asList(new Const(1), new Const("two"), new Const(3L))
+        ).children();
+        MatcherAssert.assertThat(
+            "We expect each node to be written as a separate element",
+            nodes,
+            Matchers.hasSize(3)
+        );
+        MatcherAssert.assertThat(
+            "We expect the nodes to be written in the same order",
+            nodes.get(1).toString(),
+            new SameXml(new XmlNode(new Xembler(new Const("two").toXmir()).xmlQuietly()).toString())
+        );
+    }
+
+    @Test
+    void writesTheSameXmlAsXembler() {
+        final AstNode node = new Addition(new Const(1), new Const(2));
+        MatcherAssert.assertThat(
+            "We expect the DOM to be the same as the one parsed from the Xembler output",
+            new DomXmir(node.toXmir()).root().toString(),
+            new SameXml(new XmlNode(new Xembler(node.toXmir()).xmlQuietly()).toString())
+        );
+    }
+}
@@ -55,4 +55,14 @@ final class LabelTest {
             new SameXml(initial)
         );
     }
+
+    @Test
+    void keepsNonAsciiHexAsIs() throws ImpossibleModificationException {
+        final String initial = "<o base='label' data='bytes'>C3 BF</o>";
+        MatcherAssert.assertThat(
+            "The label should write back exactly the same hex it was read from",
+            new Xembler(new Label(new XmlNode(initial)).toXmir(), new Transformers.Node()).xml(),
+            new SameXml(initial)
+        );
+    }
 }
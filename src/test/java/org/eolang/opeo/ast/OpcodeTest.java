@@ -68,4 +68,49 @@ final class OpcodeTest {
             new SameXml(OpcodeTest.XMIR)
         );
     }
+
+    @Test
+    void keepsLabelOperands() {
+        Opcode.disableCounting();
+        final String xmir = String.join(
+            "\n",
+            "<o base='opcode' line='999' name='goto'>",
+            "<o base='int' data='bytes'>00 00 00 00 00 00 00 A7</o>",
+            "<o base='label' data='bytes'>66 6F 6F</o>",
+            "</o>"
+        );
+        final Opcode opcode = new Opcode(new XmlNode(xmir));
+        MatcherAssert.assertThat(
+            "The label operand should be parsed as a label node",
+            opcode,
+            Matchers.equalTo(new Opcode(Opcodes.GOTO, new Label("66 6F 6F")))
+        );
+        MatcherAssert.assertThat(
+            "The label operand should be converted back to the same XMIR",
+            new Xembler(opcode.toXmir()).xmlQuietly(),
+            new SameXml(xmir)
+        );
+    }
+
+    @Test
+    void keepsOrderOfLabelAndOtherOperands() {
+        Opcode.disableCounting();
+        MatcherAssert.assertThat(
+            "The label should stay between the other operands",
+            new Xembler(
+                new Opcode(Opcodes.GOTO, 1, new Label("66 6F 6F"), 2).toXmir()
+            ).xmlQuietly(),
+            new SameXml(
+                String.join(
+                    "\n",
+                    "<o base='opcode' line='999' name='goto'>",
+                    "<o base='int' data='bytes'>00 00 00 00 00 00 00 A7</o>",
+                    "<o base='int' data='bytes'>00 00 00 00 00 00 00 01</o>",
+                    "<o base='label' data='bytes'>66 6F 6F</o>",
+                    "<o base='int' data='bytes'>00 00 00 00 00 00 00 02</o>",
+                    "</o>"
+                )
+            )
+        );
+    }
 }
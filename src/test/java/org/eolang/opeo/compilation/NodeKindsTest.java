@@ -0,0 +1,83 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.compilation;
+
+import java.util.Collections;
+import org.eolang.jeo.representation.xmir.XmlNode;
+import org.eolang.opeo.ast.Const;
+import org.eolang.opeo.ast.This;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link NodeKinds}.
+ * @since 0.5
+ */
+final class NodeKindsTest {
+
+    @Test
+    void findsKindsByExactBaseAndPrefix() {
+        final NodeKinds kinds = new NodeKinds();
+        MatcherAssert.assertThat(
+            "We expect to find kinds both by the exact base and by the prefix",
+            new boolean[]{
+                kinds.find("opcode").isPresent(),
+                kinds.find("local-1").isPresent(),
+                kinds.find(".foo").isPresent(),
+                kinds.find("unknown").isPresent(),
+            },
+            Matchers.equalTo(new boolean[]{true, true, true, false})
+        );
+    }
+
+    @Test
+    void checksNewPrefixesFirst() {
+        MatcherAssert.assertThat(
+            "We expect the recently registered prefix to win over the invocation one",
+            new NodeKinds()
+                .withPrefix(".this-", (node, parser) -> new This())
+                .find(".this-type")
+                .map(
+                    kind -> kind.parse(
+                        new XmlNode("<o base='.this-type'/>"),
+                        new XmirParser(Collections.emptyList())
+                    )
+                )
+                .orElseThrow(IllegalStateException::new),
+            Matchers.equalTo(new This())
+        );
+    }
+
+    @Test
+    void keepsOriginalRegistryIntact() {
+        final NodeKinds kinds = new NodeKinds();
+        kinds.with("answer", (node, parser) -> new Const(42));
+        MatcherAssert.assertThat(
+            "We expect registration to create a new registry",
+            kinds.find("answer").isPresent(),
+            Matchers.is(false)
+        );
+    }
+}
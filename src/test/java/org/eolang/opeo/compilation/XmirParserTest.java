@@ -144,6 +144,19 @@ final class XmirParserTest {
         );
     }
 
+    @Test
+    void convertsSeveralNodesInOrder() {
+        MatcherAssert.assertThat(
+            "We expect opcodes of all the nodes to be emitted in the order of nodes",
+            new XmirParser(new Const(1), new Const(2), new Const(3)).toJeoNodes(),
+            new HasInstructions(
+                Opcodes.ICONST_1,
+                Opcodes.ICONST_2,
+                Opcodes.ICONST_3
+            )
+        );
+    }
+
     @Test
     void parsesInvokeDynamicInstruction() {
         Opcode.disableCounting();
@@ -179,4 +192,16 @@ final class XmirParserTest {
             new SameXml(node.toString())
         );
     }
+
+    @Test
+    void parsesRegisteredKinds() {
+        MatcherAssert.assertThat(
+            "We expect the parser to use the kind registered from outside",
+            new XmirParser(
+                Collections.emptyList(),
+                new NodeKinds().with("answer", (node, parser) -> new Const(42))
+            ).parse(new XmlNode("<o base='answer'/>")),
+            Matchers.equalTo(new Const(42))
+        );
+    }
 }
@@ -26,7 +26,6 @@ package org.eolang.opeo.decompilation;
 import java.util.Collections;
 import java.util.concurrent.atomic.AtomicReference;
 import org.eolang.jeo.matchers.SameXml;
-import org.eolang.jeo.representation.xmir.AllLabels;
 import org.eolang.opeo.LabelInstruction;
 import org.eolang.opeo.OpcodeInstruction;
 import org.eolang.opeo.ast.Addition;
@@ -39,6 +38,7 @@ import org.eolang.opeo.ast.Duplicate;
 import org.eolang.opeo.ast.Field;
 import org.eolang.opeo.ast.FieldAssignment;
 import org.eolang.opeo.ast.Invocation;
+import org.eolang.opeo.ast.Label;
 import org.eolang.opeo.ast.LocalVariable;
 import org.eolang.opeo.ast.Owner;
 import org.eolang.opeo.ast.Popped;
@@ -53,7 +53,6 @@ import org.hamcrest.MatcherAssert;
 import org.hamcrest.TypeSafeMatcher;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
-import org.objectweb.asm.Label;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.xembly.Directive;
@@ -195,8 +194,7 @@ final class DecompilerMachineTest {
      */
     @Test
     void decompilesIfStatement() {
-        final AllLabels labels = new AllLabels();
-        final Label label = labels.label("66 6F 6F");
+        final Label label = new Label("66 6F 6F");
         Assertions.assertDoesNotThrow(
             () -> {
                 new DecompilerMachine().decompile(
@@ -206,7 +204,7 @@ final class DecompilerMachineTest {
                     new OpcodeInstruction(Opcodes.ALOAD, 0),
                     new OpcodeInstruction(Opcodes.GETFIELD, "org/eolang/other/A", "d", "I"),
                     new OpcodeInstruction(Opcodes.IRETURN),
-                    new LabelInstruction(label),
+                    new LabelInstruction("66 6F 6F"),
                     new OpcodeInstruction(Opcodes.NEW, "org/eolang/other/A"),
                     new OpcodeInstruction(Opcodes.DUP),
                     new OpcodeInstruction(Opcodes.ALOAD, 0),
@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.decompilation;
+
+import java.util.Optional;
+import org.eolang.opeo.ast.Opcode;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Test for {@link DecompilerState}.
+ * @since 0.4
+ */
+final class DecompilerStateTest {
+
+    @Test
+    void movesCursorForward() {
+        final DecompilerState state = DecompilerStateTest.state();
+        state.popInstruction();
+        MatcherAssert.assertThat(
+            "Current instruction should be the second one after a single pop",
+            state.current(),
+            Matchers.equalTo(new Opcode(Opcodes.ICONST_2))
+        );
+    }
+
+    @Test
+    void looksAhead() {
+        MatcherAssert.assertThat(
+            "Lookahead should not move the cursor and should return the following instruction",
+            DecompilerStateTest.state().ahead(2),
+            Matchers.equalTo(Optional.of(new Opcode(Opcodes.IADD)))
+        );
+    }
+
+    @Test
+    void looksBehind() {
+        final DecompilerState state = DecompilerStateTest.state();
+        state.popInstruction();
+        MatcherAssert.assertThat(
+            "Lookbehind should return the already decompiled instruction",
+            state.behind(1),
+            Matchers.equalTo(Optional.of(new Opcode(Opcodes.ICONST_1)))
+        );
+    }
+
+    @Test
+    void runsOutOfInstructions() {
+        final DecompilerState state = DecompilerStateTest.state();
+        state.popInstruction();
+        state.popInstruction();
+        state.popInstruction();
+        MatcherAssert.assertThat(
+            "There should be no instructions after all of them are popped",
+            state.hasInstructions(),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * State with three instructions.
+     * @return Decompiler state.
+     */
+    private static DecompilerState state() {
+        return new DecompilerState(
+            new Opcode[]{
+                new Opcode(Opcodes.ICONST_1),
+                new Opcode(Opcodes.ICONST_2),
+                new Opcode(Opcodes.IADD),
+            },
+            new OperandStack(),
+            new LocalVariables()
+        );
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.decompilation.agents;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import org.eolang.opeo.ast.Opcode;
+import org.eolang.opeo.decompilation.DecompilerState;
+import org.eolang.opeo.decompilation.LocalVariables;
+import org.eolang.opeo.decompilation.OperandStack;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Test case for {@link AllAgents}.
+ * @since 0.4
+ */
+final class AllAgentsTest {
+
+    @Test
+    void dispatchesInstructionsToAppropriateAgents() {
+        final TracedAgent.Container output = new TracedAgent.Container();
+        new AllAgents(false, output).handle(
+            new DecompilerState(
+                new ArrayDeque<>(
+                    Arrays.asList(
+                        new Opcode(Opcodes.ICONST_1),
+                        new Opcode(Opcodes.ICONST_2),
+                        new Opcode(Opcodes.IADD),
+                        new Opcode(Opcodes.NOP)
+                    )
+                ),
+                new OperandStack(),
+                new LocalVariables()
+            )
+        );
+        MatcherAssert.assertThat(
+            "We expect each instruction to be handled by its own agent, unknown ones by fallback",
+            output.agentsUsed(),
+            Matchers.contains("ConstAgent", "ConstAgent", "AddAgent", "UnimplementedAgent")
+        );
+    }
+
+    @Test
+    void mergesSupportedOpcodes() {
+        MatcherAssert.assertThat(
+            "We expect all supported opcodes to be collected from all agents",
+            new AllAgents().supportedOpcodes(),
+            Matchers.allOf(
+                Matchers.hasItemInArray("iadd"),
+                Matchers.hasItemInArray("invokevirtual"),
+                Matchers.not(Matchers.hasItemInArray("nop"))
+            )
+        );
+    }
+}
@@ -68,6 +68,37 @@ final class TracedAgentTest {
         );
     }
 
+    @Test
+    void recordsLightweightEvents() {
+        final TracedAgent.Events output = new TracedAgent.Events();
+        new TracedAgent(new ConstAgent(), output).handle(
+            new DecompilerState(
+                Stream.of(
+                    new Opcode(Opcodes.LCONST_1),
+                    new Opcode(Opcodes.LRETURN)
+                ).collect(Collectors.toCollection(ArrayDeque::new)),
+                new OperandStack(),
+                new LocalVariables()
+            )
+        );
+        MatcherAssert.assertThat(
+            "We should see a single event with the agent, the opcode and the stack depth",
+            output.events().stream().map(Object::toString).collect(Collectors.toList()),
+            Matchers.contains("ConstAgent handled lconst_1, stack depth 0 -> 1")
+        );
+    }
+
+    @Test
+    void ignoresMessagesWrittenToEvents() {
+        final TracedAgent.Events output = new TracedAgent.Events();
+        output.write("Stack before DummyAgent: []");
+        MatcherAssert.assertThat(
+            "We expect that plain messages are ignored and don't turn into events",
+            output.events(),
+            Matchers.empty()
+        );
+    }
+
     @Test
     void printsDecompilationTraceToLogs() {
         Assertions.assertDoesNotThrow(
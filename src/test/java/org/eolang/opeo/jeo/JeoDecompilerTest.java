@@ -0,0 +1,77 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.jeo;
+
+import com.jcabi.xml.XMLDocument;
+import java.util.concurrent.ForkJoinPool;
+import org.cactoos.io.ResourceOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link JeoDecompiler}.
+ * @since 0.5
+ */
+final class JeoDecompilerTest {
+
+    @Test
+    void decompilesMethodsInParallelAsSequentially() throws Exception {
+        final String sequential = JeoDecompilerTest.normalized(
+            new JeoDecompiler(
+                new XMLDocument(new ResourceOf("xmir/Bar.xmir").stream()), "pckg"
+            ).decompile().toString()
+        );
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MatcherAssert.assertThat(
+                "We expect that methods decompiled as separate tasks give the same result",
+                JeoDecompilerTest.normalized(
+                    pool.submit(
+                        () -> new JeoDecompiler(
+                            new XMLDocument(new ResourceOf("xmir/Bar.xmir").stream()), "pckg"
+                        ).decompile().toString()
+                    ).get()
+                ),
+                Matchers.equalTo(sequential)
+            );
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Remove the parts of XMIR that differ from run to run.
+     * Line numbers of opcodes are random, opcode names have a global hex counter
+     * and line breaks depend on the attribute lengths.
+     * @param xmir XMIR.
+     * @return Normalized XMIR.
+     */
+    private static String normalized(final String xmir) {
+        return xmir
+            .replaceAll("\\s+", " ")
+            .replaceAll(" line=\"\\d+\"", "")
+            .replaceAll("name=\"([a-z_0-9]+)-[0-9A-F]+\"", "name=\"$1\"");
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.cactoos.io.ResourceOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test cases for {@link BinaryXmir}.
+ * @since 0.5
+ */
+final class BinaryXmirTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"xmir/Bar.xmir", "xmir/disassembled/Factorial.xmir"})
+    void convertsWithoutLosses(final String resource) throws Exception {
+        final XML xml = new XMLDocument(new ResourceOf(resource).stream());
+        MatcherAssert.assertThat(
+            "We expect that XMIR is the same after conversion to binary and back",
+            new BinaryXmir(new BinaryXmir(xml).bytes()).xml().toString(),
+            Matchers.equalTo(xml.toString())
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+        strings = {
+            "xmir/Bar.xmir",
+            "xmir/disassembled/Factorial.xmir",
+            "xmir/disassembled/OpenSSLContext$1.xmir"
+        }
+    )
+    void readsTheSameSummaryAsStream(final String resource) throws Exception {
+        MatcherAssert.assertThat(
+            "We expect the summary of binary XMIR to be the same as the streamed one",
+            new BinaryXmir(
+                new BinaryXmir(new XMLDocument(new ResourceOf(resource).stream())).bytes()
+            ).summary().toString(),
+            Matchers.equalTo(new XmirStream(new ResourceOf(resource)).summary().toString())
+        );
+    }
+
+    @Test
+    void isSmallerThanXml() throws Exception {
+        final XML xml = new XMLDocument(
+            new ResourceOf("xmir/disassembled/Factorial.xmir").stream()
+        );
+        MatcherAssert.assertThat(
+            "We expect that binary XMIR is more compact than XML",
+            new BinaryXmir(xml).bytes().length,
+            Matchers.lessThan(xml.toString().length())
+        );
+    }
+
+    @Test
+    void readsBinaryFilesFromStorage(@TempDir final Path dir) throws Exception {
+        final Path input = dir.resolve("input");
+        final Path output = dir.resolve("output");
+        Files.createDirectories(input);
+        Files.write(
+            input.resolve("Bar.xmir"),
+            new BinaryXmir(new XMLDocument(new ResourceOf("xmir/Bar.xmir").stream())).bytes()
+        );
+        final XmirEntry entry = new FileStorage(input, output).all().findFirst().get();
+        MatcherAssert.assertThat(
+            "We expect that binary XMIR is read transparently",
+            entry.xpath("/program/@name"),
+            Matchers.not(Matchers.empty())
+        );
+        MatcherAssert.assertThat(
+            "We expect that the summary of binary XMIR is read as well",
+            entry.summary().opcodes(),
+            Matchers.not(Matchers.empty())
+        );
+    }
+}
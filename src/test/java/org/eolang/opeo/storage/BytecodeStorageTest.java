@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.cactoos.io.ResourceOf;
+import org.eolang.jeo.representation.xmir.AllLabels;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.Label;
+
+/**
+ * Test cases for {@link BytecodeStorage}.
+ * @since 0.5
+ */
+final class BytecodeStorageTest {
+
+    @Test
+    void savesClassFiles(@TempDir final Path dir) throws Exception {
+        final Path classes = dir.resolve("classes");
+        final BytecodeStorage storage = BytecodeStorageTest.storage(dir, classes);
+        storage.all().forEach(storage::save);
+        MatcherAssert.assertThat(
+            "We expect the program to be saved as a class file with the magic number",
+            Arrays.copyOf(Files.readAllBytes(classes.resolve("org/eolang/Collector.class")), 4),
+            Matchers.equalTo(new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE})
+        );
+    }
+
+    @Test
+    void forgetsLabelsOfAssembledClass(@TempDir final Path dir) throws Exception {
+        final BytecodeStorage storage = BytecodeStorageTest.storage(dir, dir.resolve("classes"));
+        final Label before = new AllLabels().label("forgotten");
+        storage.all().forEach(storage::save);
+        MatcherAssert.assertThat(
+            "We expect that jeo's label cache is cleared after each class",
+            new AllLabels().label("forgotten"),
+            Matchers.not(Matchers.sameInstance(before))
+        );
+    }
+
+    /**
+     * Storage with a single XMIR to compile.
+     * @param dir Temporary directory.
+     * @param classes Where to save classes.
+     * @return Storage.
+     * @throws Exception If fails.
+     */
+    private static BytecodeStorage storage(final Path dir, final Path classes) throws Exception {
+        final Path input = dir.resolve("input");
+        final Path xmir = input.resolve("org/eolang/Collector.xmir");
+        Files.createDirectories(xmir.getParent());
+        try (InputStream stream = new ResourceOf(
+            "xmir/compiled/AgentBuilder$RedefinitionStrategy$Collector.xmir"
+        ).stream()) {
+            Files.copy(stream, xmir);
+        }
+        return new BytecodeStorage(input, classes);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test cases for {@link FileStorage}.
+ * @since 0.5
+ */
+final class FileStorageTest {
+
+    @Test
+    void returnsLargestFilesFirst(@TempDir final Path dir) throws IOException {
+        final Path input = dir.resolve("input");
+        Files.createDirectories(input);
+        Files.write(
+            input.resolve("Small.xmir"),
+            "<program name='S'/>".getBytes(StandardCharsets.UTF_8)
+        );
+        Files.write(
+            input.resolve("Large.xmir"),
+            "<program name='L'><objects><o name='a'/><o name='b'/></objects></program>"
+                .getBytes(StandardCharsets.UTF_8)
+        );
+        Files.write(
+            input.resolve("Medium.xmir"),
+            "<program name='M'><objects/></program>".getBytes(StandardCharsets.UTF_8)
+        );
+        MatcherAssert.assertThat(
+            "We expect that the largest files will be processed first",
+            new FileStorage(input, dir.resolve("output")).all()
+                .map(XmirEntry::relative)
+                .collect(Collectors.toList()),
+            Matchers.contains("Large.xmir", "Medium.xmir", "Small.xmir")
+        );
+    }
+
+    @Test
+    void doesNotRewriteUnchangedFiles(@TempDir final Path dir) throws IOException {
+        final Path input = dir.resolve("input");
+        final Path output = dir.resolve("output");
+        Files.createDirectories(input);
+        Files.write(
+            input.resolve("A.xmir"),
+            "<program name='A'><objects/></program>".getBytes(StandardCharsets.UTF_8)
+        );
+        final FileStorage storage = new FileStorage(input, output);
+        storage.all().forEach(storage::save);
+        final Path out = output.resolve("A.xmir");
+        final FileTime before = FileTime.fromMillis(0L);
+        Files.setLastModifiedTime(out, before);
+        storage.all().forEach(storage::save);
+        MatcherAssert.assertThat(
+            "We expect that the file with the same content won't be written again",
+            Files.getLastModifiedTime(out),
+            Matchers.equalTo(before)
+        );
+    }
+
+    @Test
+    void copiesUntouchedFilesAsIs(@TempDir final Path dir) throws IOException {
+        final Path input = dir.resolve("input");
+        final Path output = dir.resolve("output");
+        Files.createDirectories(input);
+        final byte[] content = "<program   name='B' >\n<objects/>\n</program>\n"
+            .getBytes(StandardCharsets.UTF_8);
+        Files.write(input.resolve("B.xmir"), content);
+        final FileStorage storage = new FileStorage(input, output);
+        storage.all().forEach(storage::save);
+        MatcherAssert.assertThat(
+            "We expect that the untouched file will be copied byte-for-byte",
+            Files.readAllBytes(output.resolve("B.xmir")),
+            Matchers.equalTo(content)
+        );
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import com.jcabi.xml.XMLDocument;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link InMemoryStorage}.
+ * @since 0.5
+ */
+final class InMemoryStorageTest {
+
+    @Test
+    void keepsAllEntriesSavedConcurrently() {
+        final InMemoryStorage storage = new InMemoryStorage();
+        IntStream.range(0, 500).parallel().forEach(
+            index -> storage.save(
+                InMemoryStorageTest.entry(String.format("p%d/A%d.xmir", index % 7, index))
+            )
+        );
+        MatcherAssert.assertThat(
+            "We expect that no entry is lost when entries are saved concurrently",
+            storage.all().count(),
+            Matchers.equalTo(500L)
+        );
+        MatcherAssert.assertThat(
+            "We expect that the storage is empty after all the entries are taken out",
+            storage.size(),
+            Matchers.equalTo(0)
+        );
+    }
+
+    @Test
+    void findsEntryByRelativePath() {
+        final InMemoryStorage storage = new InMemoryStorage();
+        final XmirEntry entry = InMemoryStorageTest.entry("org/eolang/Main.xmir");
+        storage.save(InMemoryStorageTest.entry("org/eolang/Other.xmir"));
+        storage.save(entry);
+        MatcherAssert.assertThat(
+            "We expect that the entry is found by its relative path",
+            storage.find("org/eolang/Main.xmir").get(),
+            Matchers.sameInstance(entry)
+        );
+    }
+
+    @Test
+    void keepsEntriesWithTheSamePathInOrder() {
+        final InMemoryStorage storage = new InMemoryStorage();
+        final XmirEntry older = InMemoryStorageTest.entry("A.xmir");
+        final XmirEntry other = InMemoryStorageTest.entry("B.xmir");
+        final XmirEntry newer = InMemoryStorageTest.entry("A.xmir");
+        storage.save(older);
+        storage.save(other);
+        storage.save(newer);
+        MatcherAssert.assertThat(
+            "We expect that entries are kept in the order they were saved",
+            storage.all().collect(Collectors.toList()),
+            Matchers.contains(
+                Matchers.sameInstance(older),
+                Matchers.sameInstance(other),
+                Matchers.sameInstance(newer)
+            )
+        );
+    }
+
+    @Test
+    void findsTheNewestEntryWithTheSamePath() {
+        final InMemoryStorage storage = new InMemoryStorage();
+        storage.save(InMemoryStorageTest.entry("A.xmir"));
+        final XmirEntry newer = InMemoryStorageTest.entry("A.xmir");
+        storage.save(newer);
+        MatcherAssert.assertThat(
+            "We expect that the most recently saved entry is found",
+            storage.find("A.xmir").get(),
+            Matchers.sameInstance(newer)
+        );
+    }
+
+    @Test
+    void dropsEntriesOnceTheyAreTakenOut() {
+        final InMemoryStorage storage = new InMemoryStorage();
+        storage.save(InMemoryStorageTest.entry("org/eolang/A.xmir"));
+        MatcherAssert.assertThat(
+            "We expect that the saved entry is taken out",
+            storage.all().count(),
+            Matchers.equalTo(1L)
+        );
+        MatcherAssert.assertThat(
+            "We expect that the storage doesn't keep drained entries",
+            storage.find("org/eolang/A.xmir").isPresent(),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    void startsWithGivenEntriesInOrder() {
+        final XmirEntry first = InMemoryStorageTest.entry("b/B.xmir");
+        final XmirEntry second = InMemoryStorageTest.entry("a/A.xmir");
+        final InMemoryStorage storage = new InMemoryStorage(Arrays.asList(first, second));
+        final XmirEntry third = InMemoryStorageTest.entry("b/C.xmir");
+        storage.save(third);
+        MatcherAssert.assertThat(
+            "We expect that the initial entries go first, in their order",
+            storage.snapshot().collect(Collectors.toList()),
+            Matchers.contains(
+                Matchers.sameInstance(first),
+                Matchers.sameInstance(second),
+                Matchers.sameInstance(third)
+            )
+        );
+    }
+
+    @Test
+    void countsParsedDocuments() {
+        final InMemoryStorage storage = new InMemoryStorage();
+        final XmirEntry released = InMemoryStorageTest.entry("A.xmir");
+        storage.save(released);
+        storage.save(InMemoryStorageTest.entry("B.xmir"));
+        released.release();
+        MatcherAssert.assertThat(
+            "We expect that released documents aren't counted as parsed",
+            storage.parsed(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    /**
+     * Entry with the given relative path.
+     * @param relative Relative path.
+     * @return Entry.
+     */
+    private static XmirEntry entry(final String relative) {
+        return new XmirEntry(
+            new XMLDocument(String.format("<program name='%s'/>", relative)),
+            relative
+        );
+    }
+}
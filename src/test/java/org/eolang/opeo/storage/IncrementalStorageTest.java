@@ -0,0 +1,123 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test cases for {@link IncrementalStorage}.
+ * @since 0.5
+ */
+final class IncrementalStorageTest {
+
+    /**
+     * Simple XMIR.
+     */
+    private static final String XMIR = "<program name='A'><objects/></program>";
+
+    @Test
+    void skipsUnchangedFiles(@TempDir final Path dir) throws IOException {
+        final Path input = dir.resolve("input");
+        final Path output = dir.resolve("output");
+        final Path manifest = dir.resolve("manifest");
+        Files.createDirectories(input);
+        Files.write(
+            input.resolve("A.xmir"),
+            IncrementalStorageTest.XMIR.getBytes(StandardCharsets.UTF_8)
+        );
+        IncrementalStorageTest.build(input, output, manifest);
+        MatcherAssert.assertThat(
+            "We expect that unchanged files won't be processed again",
+            IncrementalStorageTest.build(input, output, manifest),
+            Matchers.equalTo(0L)
+        );
+    }
+
+    @Test
+    void processesChangedFiles(@TempDir final Path dir) throws IOException {
+        final Path input = dir.resolve("input");
+        final Path output = dir.resolve("output");
+        final Path manifest = dir.resolve("manifest");
+        Files.createDirectories(input);
+        final Path file = input.resolve("A.xmir");
+        Files.write(file, IncrementalStorageTest.XMIR.getBytes(StandardCharsets.UTF_8));
+        IncrementalStorageTest.build(input, output, manifest);
+        Files.write(
+            file,
+            "<program name='B'><objects/></program>".getBytes(StandardCharsets.UTF_8)
+        );
+        MatcherAssert.assertThat(
+            "We expect that changed files will be processed again",
+            IncrementalStorageTest.build(input, output, manifest),
+            Matchers.equalTo(1L)
+        );
+    }
+
+    @Test
+    void removesOutputsOfRemovedFiles(@TempDir final Path dir) throws IOException {
+        final Path input = dir.resolve("input");
+        final Path output = dir.resolve("output");
+        final Path manifest = dir.resolve("manifest");
+        Files.createDirectories(input);
+        final Path file = input.resolve("A.xmir");
+        Files.write(file, IncrementalStorageTest.XMIR.getBytes(StandardCharsets.UTF_8));
+        IncrementalStorageTest.build(input, output, manifest);
+        Files.delete(file);
+        new IncrementalStorage(
+            new FileStorage(input, output), new Manifest(manifest, "test"), input, output
+        ).prune();
+        MatcherAssert.assertThat(
+            "We expect that the output of the removed file will be removed too",
+            Files.exists(output.resolve("A.xmir")),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * Run a single incremental build.
+     * @param input Input folder.
+     * @param output Output folder.
+     * @param file Manifest file.
+     * @return Number of processed files.
+     */
+    private static long build(final Path input, final Path output, final Path file) {
+        final Manifest manifest = new Manifest(file, "test");
+        final Storage storage = new IncrementalStorage(
+            new FileStorage(input, output), manifest, input, output
+        );
+        final List<XmirEntry> processed = storage.all().collect(Collectors.toList());
+        processed.forEach(storage::save);
+        manifest.save();
+        return processed.size();
+    }
+}
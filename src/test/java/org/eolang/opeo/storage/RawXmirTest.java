@@ -0,0 +1,116 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.cactoos.io.ResourceOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test cases for {@link RawXmir}.
+ * @since 0.5
+ */
+final class RawXmirTest {
+
+    @Test
+    void rejectsFileWithTryCatchBlocks(@TempDir final Path dir) throws Exception {
+        MatcherAssert.assertThat(
+            "We expect the file with try-catch blocks to be rejected without parsing",
+            new RawXmir(
+                RawXmirTest.copy("xmir/disassembled/OpenSSLContext$1.xmir", dir)
+            ).rejected(new OpcodeSet("aload", "invokespecial", "return")),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void checksOpcodesAgainstSupportedSet(@TempDir final Path dir) throws Exception {
+        final RawXmir raw = new RawXmir(RawXmirTest.copy("xmir/Bar.xmir", dir));
+        MatcherAssert.assertThat(
+            "We expect the file to be rejected if some of its opcodes are not supported",
+            raw.rejected(new OpcodeSet("aload", "invokespecial", "return")),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            "We expect the file to be accepted if all its opcodes are supported",
+            raw.rejected(
+                new OpcodeSet(
+                    "aload", "invokespecial", "return", "iload", "ifle", "iconst_1",
+                    "iconst_2", "ireturn"
+                )
+            ),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    void findsUnusedAliases(@TempDir final Path dir) throws IOException {
+        final Path file = dir.resolve("A.xmir");
+        Files.write(
+            file,
+            String.join(
+                "",
+                "<program><metas><meta><head>alias</head>",
+                "<tail>org.eolang.jeo.label</tail></meta></metas>",
+                "<objects><o base='seq'/></objects></program>"
+            ).getBytes(StandardCharsets.UTF_8)
+        );
+        MatcherAssert.assertThat(
+            "We expect the unused 'label' alias to be found",
+            new RawXmir(file).clean(),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    void findsNoUnusedAliases(@TempDir final Path dir) throws Exception {
+        MatcherAssert.assertThat(
+            "We expect all the aliases of the program to be used",
+            new RawXmir(RawXmirTest.copy("xmir/Bar.xmir", dir)).clean(),
+            Matchers.is(true)
+        );
+    }
+
+    /**
+     * Copy the resource to the folder.
+     * @param resource Resource name.
+     * @param dir Folder.
+     * @return Path to the copy.
+     * @throws Exception If fails.
+     */
+    private static Path copy(final String resource, final Path dir) throws Exception {
+        final Path result = dir.resolve("Copy.xmir");
+        try (InputStream input = new ResourceOf(resource).stream()) {
+            Files.copy(input, result);
+        }
+        return result;
+    }
+}
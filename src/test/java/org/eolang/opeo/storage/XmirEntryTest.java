@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import com.jcabi.xml.XMLDocument;
+import org.cactoos.io.ResourceOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test cases for {@link XmirEntry}.
+ * @since 0.5
+ */
+final class XmirEntryTest {
+
+    @Test
+    void parsesReleasedDocumentAgain() {
+        final XmirEntry entry = new XmirEntry(
+            new XMLDocument("<program name='A'><objects><o name='foo'/></objects></program>"),
+            "A.xmir"
+        ).transform(xml -> new XMLDocument(xml.toString().replace("foo", "bar")));
+        entry.release();
+        MatcherAssert.assertThat(
+            "We expect that the released document is parsed again from its serialized form",
+            entry.xpath("/program/objects/o/@name"),
+            Matchers.contains("bar")
+        );
+    }
+
+    @Test
+    void keepsContentAfterSerialization() {
+        final XmirEntry entry = new XmirEntry(
+            new XMLDocument("<program name='B'><objects/></program>"), "B.xmir"
+        );
+        MatcherAssert.assertThat(
+            "We expect that the serialized entry has the same content as the parsed one",
+            new XMLDocument(entry.serialized()).xpath("/program/@name"),
+            Matchers.equalTo(entry.xpath("/program/@name"))
+        );
+    }
+
+    @Test
+    void serializesEntryForSeveralStoragesOnce() {
+        final XmirEntry entry = new XmirEntry(
+            new XMLDocument("<program name='C'><objects/></program>"), "C.xmir"
+        );
+        final XmirEntry clean = entry.withoutAliases();
+        final String first = clean.serialized();
+        MatcherAssert.assertThat(
+            "We expect that aliases are removed only once and the result is serialized only once",
+            entry.withoutAliases().serialized(),
+            Matchers.sameInstance(first)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+        strings = {
+            "xmir/Bar.xmir",
+            "xmir/disassembled/OpenSSLContext$1.xmir",
+            "xmir/disassembled/Factorial.xmir"
+        }
+    )
+    void readsTheSameSummaryFromParsedDocument(final String resource) throws Exception {
+        MatcherAssert.assertThat(
+            "We expect the summary of a parsed document to be the same as the streamed one",
+            new XmirEntry(new XMLDocument(new ResourceOf(resource).stream()), resource)
+                .summary()
+                .toString(),
+            Matchers.equalTo(new XmirStream(new ResourceOf(resource)).summary().toString())
+        );
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2023 Objectionary.com
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.eolang.opeo.storage;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import org.cactoos.io.ResourceOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Test cases for {@link XmirStream}.
+ * @since 0.5
+ */
+final class XmirStreamTest {
+
+    @Test
+    void readsOpcodesAndPackage() {
+        final XmirSummary summary = new XmirStream(new ResourceOf("xmir/Bar.xmir")).summary();
+        MatcherAssert.assertThat(
+            "We expect all the opcodes used in the program to be found",
+            summary.opcodes(),
+            Matchers.containsInAnyOrder(
+                "aload", "invokespecial", "return", "iload", "ifle", "iconst_1",
+                "iconst_2", "ireturn"
+            )
+        );
+        MatcherAssert.assertThat(
+            "We expect the package meta to be read",
+            summary.pckg(),
+            Matchers.equalTo("org.eolang.jeo")
+        );
+        MatcherAssert.assertThat(
+            "We expect no try-catch blocks in this program",
+            summary.trycatches(),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void findsTryCatchBlocks() {
+        MatcherAssert.assertThat(
+            "We expect try-catch blocks to be found",
+            new XmirStream(
+                new ResourceOf("xmir/disassembled/OpenSSLContext$1.xmir")
+            ).summary().trycatches(),
+            Matchers.not(Matchers.empty())
+        );
+    }
+
+    @Test
+    void countsOpcodesPerMethod() {
+        final XmirSummary summary = new XmirStream(new ResourceOf("xmir/Bar.xmir")).summary();
+        MatcherAssert.assertThat(
+            "We expect opcode numbers to be attributed to the methods they belong to",
+            summary.methods().get("new"),
+            Matchers.equalTo(
+                XmirStreamTest.bits(Opcodes.ALOAD, Opcodes.INVOKESPECIAL, Opcodes.RETURN)
+            )
+        );
+        MatcherAssert.assertThat(
+            "We expect both methods of the program to be counted",
+            summary.methods().keySet(),
+            Matchers.contains("new", "j$foo")
+        );
+    }
+
+    @Test
+    void findsMethodsWithTryCatchBlocks() {
+        final XmirSummary summary = new XmirStream(
+            new ResourceOf("xmir/disassembled/OpenSSLContext$1.xmir")
+        ).summary();
+        MatcherAssert.assertThat(
+            "We expect try-catch blocks to be found",
+            summary.guarded(),
+            Matchers.not(Matchers.empty())
+        );
+        MatcherAssert.assertThat(
+            "We expect try-catch blocks to be attributed to a named method",
+            summary.guarded(),
+            Matchers.not(Matchers.hasItem(""))
+        );
+    }
+
+    @Test
+    void checksOpcodesAgainstSupportedSet() {
+        final XmirSummary summary = new XmirStream(new ResourceOf("xmir/Bar.xmir")).summary();
+        final OpcodeSet partial = new OpcodeSet("aload", "invokespecial", "return", "iload");
+        MatcherAssert.assertThat(
+            "We expect the program to be unsupported if some opcodes are missing in the set",
+            summary.supported(partial),
+            Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            "We expect to get the names of the missing opcodes",
+            summary.unsupported(partial),
+            Matchers.containsInAnyOrder("ifle", "iconst_1", "iconst_2", "ireturn")
+        );
+        MatcherAssert.assertThat(
+            "We expect the program to be supported if all its opcodes are in the set",
+            summary.supported(
+                new OpcodeSet(
+                    "aload", "invokespecial", "return", "iload", "ifle", "iconst_1",
+                    "iconst_2", "ireturn"
+                )
+            ),
+            Matchers.is(true)
+        );
+    }
+
+    /**
+     * Bit set with the given opcodes.
+     * @param codes Opcode numbers.
+     * @return Bit set.
+     */
+    private static BitSet bits(final int... codes) {
+        final BitSet result = new BitSet();
+        Arrays.stream(codes).forEach(result::set);
+        return result;
+    }
+}